@@ -1,12 +1,28 @@
 package com.randomteleport;
 
+import com.randomteleport.api.SafeLocationService;
+import com.randomteleport.listeners.CountdownMessageListener;
+import com.randomteleport.listeners.LocationCacheListener;
+import com.randomteleport.listeners.RegionIndexListener;
+import com.randomteleport.listeners.SpawnLocationListener;
 import com.randomteleport.listeners.WorldChangeListener;
+import com.randomteleport.managers.ChunkPreloadManager;
+import com.randomteleport.managers.ChunkStatsManager;
 import com.randomteleport.managers.ConfigManager;
 import com.randomteleport.managers.CountdownManager;
+import com.randomteleport.managers.CountdownMessageManager;
+import com.randomteleport.managers.LocationCacheManager;
 import com.randomteleport.managers.PlayerDataManager;
+import com.randomteleport.managers.RegionIndexManager;
+import com.randomteleport.managers.SafeLocationManager;
+import com.randomteleport.managers.SpawnLocationManager;
 import com.randomteleport.managers.TeleportManager;
+import org.bukkit.World;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+
 /**
  * RandomTeleport Plugin
  * 
@@ -16,40 +32,99 @@ import org.bukkit.plugin.java.JavaPlugin;
  * - Configurable target world
  * - Square radius teleportation area
  * - 3-second countdown before teleportation
- * - Safe location finding with infinite retries
+ * - Batched countdown messages in chat, action bar or title
+ * - Safe location finding with backed-off retries
  * - Async chunk loading for performance
+ * - View-distance chunk preloading around the destination
+ * - Persistent cache of validated safe locations
+ * - Optional direct spawn at the random location on first arrival
+ * - Optional sampling of already generated chunks
+ * - Safe location service shared with other plugins
+ * - Java Flight Recorder events for search, chunk load and teleport stages
  * - Spanish configurable messages
  * - One-time teleportation per player per world
  */
 public class RandomTeleportPlugin extends JavaPlugin {
     private ConfigManager configManager;
     private PlayerDataManager playerDataManager;
+    private LocationCacheManager locationCacheManager;
+    private RegionIndexManager regionIndexManager;
+    private ChunkPreloadManager chunkPreloadManager;
     private TeleportManager teleportManager;
+    private SafeLocationManager safeLocationManager;
     private CountdownManager countdownManager;
+    private CountdownMessageManager countdownMessageManager;
+    private ChunkStatsManager chunkStatsManager;
+    private SpawnLocationManager spawnLocationManager;
     
     @Override
     public void onEnable() {
         // Save default config if it doesn't exist
         saveDefaultConfig();
         
+        // Export the Flight Recorder profile for the plugin's JFR events
+        if (!new File(getDataFolder(), "randomteleport.jfc").exists()) {
+            saveResource("randomteleport.jfc", false);
+        }
+        
         // Initialize configuration manager
         configManager = new ConfigManager(this);
         
         // Initialize player data manager
         playerDataManager = new PlayerDataManager(this);
         
+        // Initialize safe location cache
+        locationCacheManager = new LocationCacheManager(this, configManager);
+        
+        // Initialize generated-chunk index
+        regionIndexManager = new RegionIndexManager(this);
+        
+        // Initialize chunk statistics
+        chunkStatsManager = new ChunkStatsManager(this);
+        
+        // Initialize chunk preloading
+        chunkPreloadManager = new ChunkPreloadManager(this, configManager, regionIndexManager);
+        
         // Initialize teleport manager
-        teleportManager = new TeleportManager(this, configManager);
+        teleportManager = new TeleportManager(this, configManager, locationCacheManager, regionIndexManager,
+            chunkPreloadManager, chunkStatsManager);
+        
+        // Initialize and register the shared safe location service
+        safeLocationManager = new SafeLocationManager(this, configManager, teleportManager, locationCacheManager);
+        getServer().getServicesManager().register(SafeLocationService.class, safeLocationManager, this,
+            ServicePriority.Normal);
+        
+        // Initialize batched countdown messaging
+        countdownMessageManager = new CountdownMessageManager(this, configManager);
         
         // Initialize countdown manager
-        countdownManager = new CountdownManager(this, configManager, teleportManager, playerDataManager);
+        countdownManager = new CountdownManager(this, configManager, teleportManager, safeLocationManager,
+            playerDataManager, chunkStatsManager, countdownMessageManager);
+        
+        // Initialize spawn-location override
+        spawnLocationManager = new SpawnLocationManager(this, configManager, teleportManager,
+            safeLocationManager, playerDataManager, chunkStatsManager, countdownManager);
         
         // Register event listeners
         getServer().getPluginManager().registerEvents(
-            new WorldChangeListener(configManager, playerDataManager, countdownManager), 
+            new WorldChangeListener(configManager, playerDataManager, countdownManager, spawnLocationManager), 
+            this
+        );
+        getServer().getPluginManager().registerEvents(new CountdownMessageListener(countdownMessageManager), this);
+        getServer().getPluginManager().registerEvents(new LocationCacheListener(locationCacheManager), this);
+        getServer().getPluginManager().registerEvents(new RegionIndexListener(regionIndexManager), this);
+        getServer().getPluginManager().registerEvents(
+            new SpawnLocationListener(configManager, playerDataManager, countdownManager,
+                spawnLocationManager, chunkStatsManager),
             this
         );
         
+        // Index the target world's generated chunks up front for sampling and the chunk load stats
+        World targetWorld = getServer().getWorld(configManager.getTargetWorld());
+        if (targetWorld != null) {
+            regionIndexManager.index(targetWorld);
+        }
+        
         getLogger().info("RandomTeleport has been enabled!");
     }
     
@@ -60,11 +135,28 @@ public class RandomTeleportPlugin extends JavaPlugin {
             countdownManager.cancelAll();
         }
         
+        // Report chunks loaded per arrival and chunk load latency
+        if (chunkStatsManager != null) {
+            chunkStatsManager.logSummary();
+        }
+        
+        // Unregister the shared service, stop refilling the cache and report its usage
+        getServer().getServicesManager().unregisterAll(this);
+        if (safeLocationManager != null) {
+            safeLocationManager.shutdown();
+            safeLocationManager.logUsage();
+        }
+        
         // Save player data
         if (playerDataManager != null) {
             playerDataManager.shutdown();
         }
         
+        // Save cached safe locations
+        if (locationCacheManager != null) {
+            locationCacheManager.shutdown();
+        }
+        
         getLogger().info("RandomTeleport has been disabled!");
     }
     
@@ -75,6 +167,12 @@ public class RandomTeleportPlugin extends JavaPlugin {
         if (configManager != null) {
             configManager.reload();
         }
+        if (locationCacheManager != null) {
+            locationCacheManager.reload();
+        }
+        if (countdownMessageManager != null) {
+            countdownMessageManager.reload();
+        }
     }
     
     // Getters for other plugins if needed
@@ -86,11 +184,31 @@ public class RandomTeleportPlugin extends JavaPlugin {
         return playerDataManager;
     }
     
+    public LocationCacheManager getLocationCacheManager() {
+        return locationCacheManager;
+    }
+    
+    public RegionIndexManager getRegionIndexManager() {
+        return regionIndexManager;
+    }
+    
+    public ChunkPreloadManager getChunkPreloadManager() {
+        return chunkPreloadManager;
+    }
+    
     public TeleportManager getTeleportManager() {
         return teleportManager;
     }
     
+    public SafeLocationService getSafeLocationService() {
+        return safeLocationManager;
+    }
+    
     public CountdownManager getCountdownManager() {
         return countdownManager;
     }
+    
+    public SpawnLocationManager getSpawnLocationManager() {
+        return spawnLocationManager;
+    }
 }
@@ -0,0 +1,62 @@
+package com.randomteleport.api;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared random safe-location search, registered with Bukkit's ServicesManager
+ * 
+ * All callers share one location cache, one search concurrency limit and one
+ * chunk preload queue. Usage is tracked per calling plugin.
+ * 
+ * Obtain it with:
+ * <pre>
+ * RegisteredServiceProvider&lt;SafeLocationService&gt; provider =
+ *     Bukkit.getServicesManager().getRegistration(SafeLocationService.class);
+ * </pre>
+ */
+public interface SafeLocationService {
+    
+    /**
+     * Finds a random safe location matching a profile
+     * Cached locations are served first; otherwise a search runs off the main thread
+     * Cancelling the returned future drops the search, whether it is still queued or running
+     * 
+     * @param caller The plugin making the request
+     * @param world The world to search in
+     * @param profile The region and safety rules to apply
+     * @return A future completed with a safe location, or null if none was found
+     *         within the profile's attempt limit
+     */
+    CompletableFuture<Location> findSafeLocation(Plugin caller, World world, SearchProfile profile);
+    
+    /**
+     * Preloads the chunks around a destination and teleports a player there
+     * 
+     * @param caller The plugin making the request
+     * @param player The player to teleport
+     * @param destination The destination, e.g. from {@link #findSafeLocation}
+     * @return A future completed on the main thread with whether the teleport succeeded
+     */
+    CompletableFuture<Boolean> teleport(Plugin caller, Player player, Location destination);
+    
+    /**
+     * Gets the profile this plugin uses for its own first-join teleports
+     * 
+     * @param world The world the profile is for
+     * @return The configured region around the world spawn with the default safety rules
+     */
+    SearchProfile getDefaultProfile(World world);
+    
+    /**
+     * Gets a snapshot of a plugin's usage of this service
+     * 
+     * @param caller The calling plugin
+     * @return The usage counters, all zero if the plugin never called the service
+     */
+    ServiceUsage getUsage(Plugin caller);
+}
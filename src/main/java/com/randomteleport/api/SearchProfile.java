@@ -0,0 +1,99 @@
+package com.randomteleport.api;
+
+import org.bukkit.Location;
+
+/**
+ * Region and safety rules for a safe-location search
+ * Coordinates are absolute block coordinates and bounds are inclusive
+ */
+public final class SearchProfile {
+    /**
+     * Default minimum Y for destinations, to avoid caves
+     */
+    public static final int DEFAULT_MIN_Y = 60;
+    
+    /**
+     * Default number of candidates checked before a search gives up
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 256;
+    
+    private final int minX;
+    private final int maxX;
+    private final int minZ;
+    private final int maxZ;
+    private final int minY;
+    private final int maxAttempts;
+    
+    /**
+     * Creates a profile
+     * 
+     * @param minX The minimum block X coordinate
+     * @param maxX The maximum block X coordinate
+     * @param minZ The minimum block Z coordinate
+     * @param maxZ The maximum block Z coordinate
+     * @param minY The lowest Y a destination may be at
+     * @param maxAttempts The number of candidates checked before giving up, or 0 to retry indefinitely
+     */
+    public SearchProfile(int minX, int maxX, int minZ, int maxZ, int minY, int maxAttempts) {
+        if (minX > maxX || minZ > maxZ) {
+            throw new IllegalArgumentException("Minimum bounds must not exceed maximum bounds");
+        }
+        if (maxAttempts < 0) {
+            throw new IllegalArgumentException("maxAttempts must not be negative");
+        }
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minZ = minZ;
+        this.maxZ = maxZ;
+        this.minY = minY;
+        this.maxAttempts = maxAttempts;
+    }
+    
+    /**
+     * Creates a square profile around a center with the default safety rules
+     * 
+     * @param center The center of the region
+     * @param radius The distance in blocks from the center to each edge
+     * @return The profile
+     */
+    public static SearchProfile square(Location center, int radius) {
+        return new SearchProfile(center.getBlockX() - radius, center.getBlockX() + radius,
+            center.getBlockZ() - radius, center.getBlockZ() + radius, DEFAULT_MIN_Y, DEFAULT_MAX_ATTEMPTS);
+    }
+    
+    public int getMinX() {
+        return minX;
+    }
+    
+    public int getMaxX() {
+        return maxX;
+    }
+    
+    public int getMinZ() {
+        return minZ;
+    }
+    
+    public int getMaxZ() {
+        return maxZ;
+    }
+    
+    public int getMinY() {
+        return minY;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    /**
+     * Checks if a block position satisfies this profile's region and minimum Y
+     * 
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     * @return true if the position is inside the profile
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ && y >= minY;
+    }
+}
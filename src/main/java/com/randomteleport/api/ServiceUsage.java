@@ -0,0 +1,61 @@
+package com.randomteleport.api;
+
+/**
+ * Snapshot of one plugin's usage of the {@link SafeLocationService}
+ */
+public final class ServiceUsage {
+    private final long searches;
+    private final long cacheHits;
+    private final long failedSearches;
+    private final long teleports;
+    private final long searchMillis;
+    
+    public ServiceUsage(long searches, long cacheHits, long failedSearches, long teleports, long searchMillis) {
+        this.searches = searches;
+        this.cacheHits = cacheHits;
+        this.failedSearches = failedSearches;
+        this.teleports = teleports;
+        this.searchMillis = searchMillis;
+    }
+    
+    /**
+     * @return The number of location requests, including cache hits
+     */
+    public long getSearches() {
+        return searches;
+    }
+    
+    /**
+     * @return The number of requests served from the location cache
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+    
+    /**
+     * @return The number of requests that found no location
+     */
+    public long getFailedSearches() {
+        return failedSearches;
+    }
+    
+    /**
+     * @return The number of teleports requested
+     */
+    public long getTeleports() {
+        return teleports;
+    }
+    
+    /**
+     * @return The total time spent searching, excluding time waiting for a search slot
+     */
+    public long getSearchMillis() {
+        return searchMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return searches + " searches (" + cacheHits + " cached, " + failedSearches + " failed, " +
+            searchMillis + " ms), " + teleports + " teleports";
+    }
+}
@@ -0,0 +1,63 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted when a candidate location fails the safety checks
+ */
+@Name("com.randomteleport.CandidateRejected")
+@Label("Candidate Rejected")
+@Category("RandomTeleport")
+@Description("A candidate location failed the safety checks")
+@StackTrace(false)
+public class CandidateRejectedEvent extends Event {
+    @Label("World")
+    String world;
+    
+    @Label("X")
+    int x;
+    
+    @Label("Z")
+    int z;
+    
+    @Label("Reason")
+    String reason;
+    
+    @Label("Cached")
+    @Description("Whether the candidate came from the location cache")
+    boolean cached;
+    
+    @Label("Chunk Access")
+    @Description("Time spent loading the candidate's chunk on the calling thread; 0 for cached candidates")
+    @Timespan(Timespan.NANOSECONDS)
+    long chunkAccess;
+    
+    /**
+     * Emits the event if recording is enabled
+     * 
+     * @param world The world searched
+     * @param x The candidate X coordinate
+     * @param z The candidate Z coordinate
+     * @param reason The reason code
+     * @param cached Whether the candidate came from the location cache
+     * @param chunkAccessNanos How long loading the candidate's chunk took, in nanoseconds
+     */
+    public static void emit(String world, int x, int z, String reason, boolean cached, long chunkAccessNanos) {
+        CandidateRejectedEvent event = new CandidateRejectedEvent();
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.x = x;
+            event.z = z;
+            event.reason = reason;
+            event.cached = cached;
+            event.chunkAccess = chunkAccessNanos;
+            event.commit();
+        }
+    }
+}
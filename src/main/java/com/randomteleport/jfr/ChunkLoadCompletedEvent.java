@@ -0,0 +1,55 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning an async chunk load, from request to completion
+ */
+@Name("com.randomteleport.ChunkLoadCompleted")
+@Label("Chunk Load Completed")
+@Category("RandomTeleport")
+@Description("An async chunk load completed; the duration is the load time")
+@StackTrace(false)
+public class ChunkLoadCompletedEvent extends Event {
+    @Label("World")
+    String world;
+    
+    @Label("Chunk X")
+    int chunkX;
+    
+    @Label("Chunk Z")
+    int chunkZ;
+    
+    @Label("Generated")
+    @Description("Whether the chunk existed on disk before the load: GENERATED, UNGENERATED or UNKNOWN")
+    String generated;
+    
+    @Label("Success")
+    boolean success;
+    
+    /**
+     * Ends the event and commits it if recording is enabled
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @param generated Whether the chunk already existed on disk before the load: GENERATED, UNGENERATED or UNKNOWN
+     * @param success Whether the load succeeded
+     */
+    public void complete(String world, int chunkX, int chunkZ, String generated, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.generated = generated;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when an async chunk load is requested
+ */
+@Name("com.randomteleport.ChunkLoadRequested")
+@Label("Chunk Load Requested")
+@Category("RandomTeleport")
+@Description("An async chunk load was requested")
+@StackTrace(false)
+public class ChunkLoadRequestedEvent extends Event {
+    @Label("World")
+    String world;
+    
+    @Label("Chunk X")
+    int chunkX;
+    
+    @Label("Chunk Z")
+    int chunkZ;
+    
+    @Label("Generated")
+    @Description("Whether the chunk already existed on disk: GENERATED, UNGENERATED or UNKNOWN")
+    String generated;
+    
+    /**
+     * Commits the event if recording is enabled
+     * Callers can check {@link #isEnabled()} first to skip computing the fields
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @param generated Whether the chunk already existed on disk: GENERATED, UNGENERATED or UNKNOWN
+     */
+    public void emit(String world, int chunkX, int chunkZ, String generated) {
+        if (shouldCommit()) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.generated = generated;
+            commit();
+        }
+    }
+}
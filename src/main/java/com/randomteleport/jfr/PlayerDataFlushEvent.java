@@ -0,0 +1,41 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Flight Recorder event spanning a save of players.yml
+ */
+@Name("com.randomteleport.PlayerDataFlush")
+@Label("Player Data Flush")
+@Category("RandomTeleport")
+@Description("Player data was saved to disk; the duration is the save time")
+@StackTrace(false)
+public class PlayerDataFlushEvent extends Event {
+    @Label("Players")
+    int players;
+    
+    @Label("Success")
+    boolean success;
+    
+    /**
+     * Ends the event and commits it if recording is enabled
+     * 
+     * @param players Counts the players stored; only called if the event is committed
+     * @param success Whether the save succeeded
+     */
+    public void complete(IntSupplier players, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.players = players.getAsInt();
+            this.success = success;
+            commit();
+        }
+    }
+}
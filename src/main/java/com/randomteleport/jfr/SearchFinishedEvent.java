@@ -0,0 +1,54 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning a safe location search
+ */
+@Name("com.randomteleport.SearchFinished")
+@Label("Search Finished")
+@Category("RandomTeleport")
+@Description("A safe location search finished; the duration is the search time")
+@StackTrace(false)
+public class SearchFinishedEvent extends Event {
+    @Label("World")
+    String world;
+    
+    @Label("Attempts")
+    @Description("Candidates checked, including cached ones")
+    int attempts;
+    
+    @Label("Chunk Access")
+    @Description("Total time spent loading candidate chunks on the calling thread")
+    @Timespan(Timespan.NANOSECONDS)
+    long chunkAccess;
+    
+    @Label("Outcome")
+    @Description("cache, found, exhausted, cancelled or unindexed")
+    String outcome;
+    
+    /**
+     * Ends the event and commits it if recording is enabled
+     * 
+     * @param world The world searched
+     * @param attempts The number of candidates checked
+     * @param chunkAccessNanos The total time spent loading candidate chunks, in nanoseconds
+     * @param outcome How the search ended
+     */
+    public void complete(String world, int attempts, long chunkAccessNanos, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.world = world;
+            this.attempts = attempts;
+            this.chunkAccess = chunkAccessNanos;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
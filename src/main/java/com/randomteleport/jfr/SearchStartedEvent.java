@@ -0,0 +1,34 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when a safe location search starts
+ */
+@Name("com.randomteleport.SearchStarted")
+@Label("Search Started")
+@Category("RandomTeleport")
+@Description("A safe location search started")
+@StackTrace(false)
+public class SearchStartedEvent extends Event {
+    @Label("World")
+    String world;
+    
+    /**
+     * Emits the event if recording is enabled
+     * 
+     * @param world The world being searched
+     */
+    public static void emit(String world) {
+        SearchStartedEvent event = new SearchStartedEvent();
+        if (event.shouldCommit()) {
+            event.world = world;
+            event.commit();
+        }
+    }
+}
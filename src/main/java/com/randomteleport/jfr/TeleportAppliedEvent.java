@@ -0,0 +1,59 @@
+package com.randomteleport.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the call that moves a player to their destination
+ */
+@Name("com.randomteleport.TeleportApplied")
+@Label("Teleport Applied")
+@Category("RandomTeleport")
+@Description("A player was teleported; the duration is the time spent in the teleport call")
+@StackTrace(false)
+public class TeleportAppliedEvent extends Event {
+    @Label("Player")
+    String player;
+    
+    @Label("World")
+    String world;
+    
+    @Label("X")
+    int x;
+    
+    @Label("Y")
+    int y;
+    
+    @Label("Z")
+    int z;
+    
+    @Label("Success")
+    boolean success;
+    
+    /**
+     * Ends the event and commits it if recording is enabled
+     * 
+     * @param player The player's name
+     * @param world The destination world
+     * @param x The destination X coordinate
+     * @param y The destination Y coordinate
+     * @param z The destination Z coordinate
+     * @param success Whether the teleport succeeded
+     */
+    public void complete(String player, String world, int x, int y, int z, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.player = player;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.randomteleport.listeners;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.randomteleport.managers.CountdownMessageManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Flushes batched countdown messages at the end of each tick
+ */
+public class CountdownMessageListener implements Listener {
+    private final CountdownMessageManager countdownMessageManager;
+    
+    public CountdownMessageListener(CountdownMessageManager countdownMessageManager) {
+        this.countdownMessageManager = countdownMessageManager;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerTickEnd(ServerTickEndEvent event) {
+        countdownMessageManager.flush();
+    }
+    
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        countdownMessageManager.forget(event.getPlayer().getUniqueId());
+    }
+}
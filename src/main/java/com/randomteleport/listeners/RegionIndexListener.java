@@ -0,0 +1,31 @@
+package com.randomteleport.listeners;
+
+import com.randomteleport.managers.RegionIndexManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the generated-chunk index up to date as new chunks are generated
+ */
+public class RegionIndexListener implements Listener {
+    private final RegionIndexManager regionIndexManager;
+    
+    public RegionIndexListener(RegionIndexManager regionIndexManager) {
+        this.regionIndexManager = regionIndexManager;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (event.isNewChunk()) {
+            regionIndexManager.markGenerated(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        regionIndexManager.remove(event.getWorld());
+    }
+}
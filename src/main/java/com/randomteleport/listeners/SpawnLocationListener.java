@@ -0,0 +1,141 @@
+package com.randomteleport.listeners;
+
+import com.randomteleport.managers.ChunkStatsManager;
+import com.randomteleport.managers.ConfigManager;
+import com.randomteleport.managers.CountdownManager;
+import com.randomteleport.managers.PlayerDataManager;
+import com.randomteleport.managers.SpawnLocationManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.spigotmc.event.player.PlayerSpawnLocationEvent;
+
+/**
+ * Redirects first arrivals in the target world straight to a random destination
+ * and measures chunks loaded per arrival
+ */
+public class SpawnLocationListener implements Listener {
+    private final ConfigManager configManager;
+    private final PlayerDataManager playerDataManager;
+    private final CountdownManager countdownManager;
+    private final SpawnLocationManager spawnLocationManager;
+    private final ChunkStatsManager chunkStatsManager;
+    
+    public SpawnLocationListener(ConfigManager configManager, PlayerDataManager playerDataManager,
+                                 CountdownManager countdownManager, SpawnLocationManager spawnLocationManager,
+                                 ChunkStatsManager chunkStatsManager) {
+        this.configManager = configManager;
+        this.playerDataManager = playerDataManager;
+        this.countdownManager = countdownManager;
+        this.spawnLocationManager = spawnLocationManager;
+        this.chunkStatsManager = chunkStatsManager;
+    }
+    
+    /**
+     * Resolves the destination while the player is still connecting
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (!configManager.isSpawnOverrideEnabled()
+                || event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        spawnLocationManager.resolveForLogin(event.getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            spawnLocationManager.discard(event.getPlayer().getUniqueId());
+        }
+    }
+    
+    /**
+     * Spawns the player at the resolved destination if they would spawn in the target world
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerSpawnLocation(PlayerSpawnLocationEvent event) {
+        Location resolved = spawnLocationManager.takeResolvedLocation(event.getPlayer().getUniqueId());
+        if (resolved == null) {
+            return;
+        }
+        
+        if (event.getSpawnLocation().getWorld() == null
+                || !event.getSpawnLocation().getWorld().equals(resolved.getWorld())) {
+            spawnLocationManager.discard(event.getPlayer().getUniqueId());
+            return;
+        }
+        
+        event.setSpawnLocation(resolved);
+        spawnLocationManager.applyLoginSpawn(event.getPlayer(), resolved);
+    }
+    
+    /**
+     * Redirects a first world change into the target world to a cached destination
+     * Never loads chunks: only destinations in loaded chunks that pass the safety checks are used
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (!configManager.isSpawnOverrideEnabled() || !isFirstArrival(event)
+                || countdownManager.hasActiveCountdown(event.getPlayer().getUniqueId())) {
+            return;
+        }
+        
+        Location destination = spawnLocationManager.pickForWorldChange(event.getTo().getWorld());
+        if (destination != null) {
+            event.setTo(destination);
+            spawnLocationManager.markPendingArrival(event.getPlayer().getUniqueId(), destination);
+        }
+    }
+    
+    /**
+     * Starts measuring first arrivals, or forgets redirects another plugin cancelled
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerTeleportMonitor(PlayerTeleportEvent event) {
+        if (!isFirstArrival(event)) {
+            return;
+        }
+        
+        if (event.isCancelled()) {
+            spawnLocationManager.discard(event.getPlayer().getUniqueId());
+        } else {
+            chunkStatsManager.begin(event.getPlayer().getUniqueId());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (event.getWorld().getName().equals(configManager.getTargetWorld())) {
+            chunkStatsManager.recordChunkLoad();
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        spawnLocationManager.discard(event.getPlayer().getUniqueId());
+        chunkStatsManager.discard(event.getPlayer().getUniqueId());
+    }
+    
+    /**
+     * Checks if a teleport moves a player into the target world for the first time
+     */
+    private boolean isFirstArrival(PlayerTeleportEvent event) {
+        Location to = event.getTo();
+        if (to == null || to.getWorld() == null) {
+            return false;
+        }
+        
+        World toWorld = to.getWorld();
+        return !toWorld.equals(event.getFrom().getWorld())
+            && toWorld.getName().equals(configManager.getTargetWorld())
+            && !playerDataManager.hasPlayerBeenTeleported(event.getPlayer().getUniqueId(), toWorld.getName());
+    }
+}
@@ -3,6 +3,7 @@ package com.randomteleport.listeners;
 import com.randomteleport.managers.ConfigManager;
 import com.randomteleport.managers.CountdownManager;
 import com.randomteleport.managers.PlayerDataManager;
+import com.randomteleport.managers.SpawnLocationManager;
 import com.randomteleport.utils.MessageHelper;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
@@ -18,12 +19,14 @@ public class WorldChangeListener implements Listener {
     private final ConfigManager configManager;
     private final PlayerDataManager playerDataManager;
     private final CountdownManager countdownManager;
+    private final SpawnLocationManager spawnLocationManager;
     
     public WorldChangeListener(ConfigManager configManager, PlayerDataManager playerDataManager, 
-                               CountdownManager countdownManager) {
+                               CountdownManager countdownManager, SpawnLocationManager spawnLocationManager) {
         this.configManager = configManager;
         this.playerDataManager = playerDataManager;
         this.countdownManager = countdownManager;
+        this.spawnLocationManager = spawnLocationManager;
     }
     
     /**
@@ -50,6 +53,11 @@ public class WorldChangeListener implements Listener {
             return;
         }
         
+        // Player was already sent to a random location by the spawn-location override
+        if (spawnLocationManager.completeArrival(player)) {
+            return;
+        }
+        
         // Check if player has already been teleported to this world
         if (playerDataManager.hasPlayerBeenTeleported(player.getUniqueId(), currentWorldName)) {
             String alreadyTeleportedMessage = configManager.getMessage("already-teleported");
@@ -0,0 +1,276 @@
+package com.randomteleport.managers;
+
+import com.randomteleport.jfr.ChunkLoadCompletedEvent;
+import com.randomteleport.jfr.ChunkLoadRequestedEvent;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads chunks around teleport destinations asynchronously, nearest first, with a
+ * concurrency limit shared by all preloads, and holds plugin tickets on them until released
+ * All bookkeeping happens on the main thread
+ */
+public class ChunkPreloadManager {
+    private final JavaPlugin plugin;
+    private final ConfigManager configManager;
+    private final RegionIndexManager regionIndex;
+    private final Deque<PendingLoad> queue;
+    private final Map<UUID, Map<Long, Integer>> ticketCounts;
+    private int inFlight;
+    
+    public ChunkPreloadManager(JavaPlugin plugin, ConfigManager configManager, RegionIndexManager regionIndex) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.regionIndex = regionIndex;
+        this.queue = new ArrayDeque<>();
+        this.ticketCounts = new HashMap<>();
+    }
+    
+    /**
+     * Loads a chunk asynchronously, recording the request and its duration for profiling
+     * Never waits on chunk I/O, so it is safe to call from the main thread
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return A future completed with the loaded chunk
+     */
+    public CompletableFuture<Chunk> loadChunkAsync(World world, int chunkX, int chunkZ) {
+        ChunkLoadRequestedEvent requestEvent = new ChunkLoadRequestedEvent();
+        ChunkLoadCompletedEvent loadEvent = new ChunkLoadCompletedEvent();
+        
+        // Read from the in-memory index; World#isChunkGenerated reads the chunk status from disk
+        // The status is only looked up when one of the JFR events is recorded
+        RegionIndexManager.ChunkStatus status = requestEvent.isEnabled() || loadEvent.isEnabled()
+            ? regionIndex.getStatus(world, chunkX, chunkZ) : RegionIndexManager.ChunkStatus.UNKNOWN;
+        requestEvent.emit(world.getName(), chunkX, chunkZ, status.name());
+        loadEvent.begin();
+        
+        return world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, throwable) ->
+            loadEvent.complete(world.getName(), chunkX, chunkZ, status.name(), throwable == null));
+    }
+    
+    /**
+     * Preloads the configured ring of chunks around a destination
+     * The future completes on the main thread once the destination chunk and the
+     * configured fraction of the ring are loaded, or the timeout elapses
+     * 
+     * @param destination The teleport destination
+     * @return A future completed with the preload, which must be released after arrival
+     */
+    public CompletableFuture<Preload> preload(Location destination) {
+        return preload(destination, configManager.getPreloadRadius(), configManager.getPreloadRequiredFraction());
+    }
+    
+    /**
+     * Preloads a ring of chunks around a destination
+     * 
+     * @param destination The teleport destination
+     * @param radius The ring radius in chunks, capped at the world's view distance
+     * @param requiredFraction The fraction of the ring that must be loaded before completing
+     * @return A future completed with the preload, which must be released after arrival
+     */
+    public CompletableFuture<Preload> preload(Location destination, int radius, double requiredFraction) {
+        CompletableFuture<Preload> future = new CompletableFuture<>();
+        runOnMainThread(() -> {
+            World world = destination.getWorld();
+            int cappedRadius = Math.max(0, Math.min(radius, world.getViewDistance()));
+            List<long[]> ring = buildRing(destination.getBlockX() >> 4, destination.getBlockZ() >> 4, cappedRadius);
+            int required = Math.max(1, (int) Math.ceil(Math.min(1.0, requiredFraction) * ring.size()));
+            
+            Preload preload = new Preload(world, destination.getBlockX() >> 4, destination.getBlockZ() >> 4,
+                ring.size(), required, future);
+            preload.timeoutTask = plugin.getServer().getScheduler().runTaskLater(plugin, preload::complete,
+                configManager.getPreloadTimeoutTicks());
+            for (long[] chunk : ring) {
+                queue.add(new PendingLoad(preload, (int) chunk[0], (int) chunk[1]));
+            }
+            drainQueue();
+        });
+        return future;
+    }
+    
+    /**
+     * Builds the chunks within a square radius, sorted from nearest to farthest
+     * so the destination chunk comes first
+     */
+    private static List<long[]> buildRing(int centerX, int centerZ, int radius) {
+        List<long[]> ring = new ArrayList<>((2 * radius + 1) * (2 * radius + 1));
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                ring.add(new long[] {centerX + dx, centerZ + dz, (long) dx * dx + (long) dz * dz});
+            }
+        }
+        ring.sort(Comparator.comparingLong(chunk -> chunk[2]));
+        return ring;
+    }
+    
+    /**
+     * Starts queued loads while under the shared concurrency limit
+     */
+    private void drainQueue() {
+        int maxConcurrent = Math.max(1, configManager.getPreloadMaxConcurrent());
+        while (inFlight < maxConcurrent && !queue.isEmpty()) {
+            PendingLoad load = queue.poll();
+            if (load.preload.released) {
+                continue;
+            }
+            
+            inFlight++;
+            loadChunkAsync(load.preload.world, load.chunkX, load.chunkZ)
+                .whenComplete((chunk, throwable) -> runOnMainThread(() -> {
+                    inFlight--;
+                    load.preload.onChunkLoaded(load.chunkX, load.chunkZ, throwable == null);
+                    drainQueue();
+                }));
+        }
+    }
+    
+    private void addTicket(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = ticketCounts.computeIfAbsent(world.getUID(), id -> new HashMap<>());
+        if (counts.merge(chunkKey(chunkX, chunkZ), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+    
+    private void removeTicket(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = ticketCounts.get(world.getUID());
+        if (counts == null) {
+            return;
+        }
+        
+        long key = chunkKey(chunkX, chunkZ);
+        Integer remaining = counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+            if (counts.isEmpty()) {
+                ticketCounts.remove(world.getUID());
+            }
+        }
+    }
+    
+    private void runOnMainThread(Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+    
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * A chunk load waiting for a free concurrency slot
+     */
+    private record PendingLoad(Preload preload, int chunkX, int chunkZ) {
+    }
+    
+    /**
+     * Chunks preloaded around one destination
+     */
+    public final class Preload {
+        private final World world;
+        private final int destinationX;
+        private final int destinationZ;
+        private final int total;
+        private final int required;
+        private final CompletableFuture<Preload> future;
+        private final List<long[]> ticketed;
+        private BukkitTask timeoutTask;
+        private int finished;
+        private int loaded;
+        private boolean destinationFinished;
+        private boolean released;
+        
+        private Preload(World world, int destinationX, int destinationZ, int total, int required,
+                        CompletableFuture<Preload> future) {
+            this.world = world;
+            this.destinationX = destinationX;
+            this.destinationZ = destinationZ;
+            this.total = total;
+            this.required = required;
+            this.future = future;
+            this.ticketed = new ArrayList<>();
+        }
+        
+        /**
+         * Gets how many chunks of the ring are loaded
+         * 
+         * @return The number of loaded chunks
+         */
+        public int getLoaded() {
+            return loaded;
+        }
+        
+        /**
+         * Gets the number of chunks in the ring
+         * 
+         * @return The ring size
+         */
+        public int getTotal() {
+            return total;
+        }
+        
+        /**
+         * Releases the chunk tickets and cancels loads that haven't started
+         * Call this from the main thread once the player has arrived
+         */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            complete();
+            for (long[] chunk : ticketed) {
+                removeTicket(world, (int) chunk[0], (int) chunk[1]);
+            }
+            ticketed.clear();
+        }
+        
+        private void onChunkLoaded(int chunkX, int chunkZ, boolean success) {
+            finished++;
+            if (success) {
+                loaded++;
+                if (!released) {
+                    addTicket(world, chunkX, chunkZ);
+                    ticketed.add(new long[] {chunkX, chunkZ});
+                }
+            }
+            
+            // Never complete before the destination chunk itself, even if it failed to load
+            if (isDestination(chunkX, chunkZ)) {
+                destinationFinished = true;
+            }
+            if ((destinationFinished && loaded >= required) || finished == total) {
+                complete();
+            }
+        }
+        
+        private boolean isDestination(int chunkX, int chunkZ) {
+            return chunkX == destinationX && chunkZ == destinationZ;
+        }
+        
+        private void complete() {
+            if (timeoutTask != null) {
+                timeoutTask.cancel();
+                timeoutTask = null;
+            }
+            future.complete(this);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.randomteleport.managers;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many chunks are loaded in the target world per arriving player, and how
+ * long searches take to load candidate chunks that already existed on disk versus new ones
+ * Arrival counts are approximate: loads caused by other players in the same window are included
+ */
+public class ChunkStatsManager {
+    private static final long SETTLE_TICKS = 40L; // Let the arrival's view-distance chunks load
+    
+    private final JavaPlugin plugin;
+    private final AtomicLong chunkLoads;
+    private final Map<UUID, Long> openSamples;
+    private final Map<String, long[]> totals;
+    private final long[] generatedLoads; // count, total nanos
+    private final long[] ungeneratedLoads;
+    
+    public ChunkStatsManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.chunkLoads = new AtomicLong();
+        this.openSamples = new ConcurrentHashMap<>();
+        this.totals = new ConcurrentHashMap<>();
+        this.generatedLoads = new long[2];
+        this.ungeneratedLoads = new long[2];
+    }
+    
+    /**
+     * Records a chunk load in the target world
+     */
+    public void recordChunkLoad() {
+        chunkLoads.incrementAndGet();
+    }
+    
+    /**
+     * Records how long a search took to load a candidate's chunk
+     * 
+     * @param generated Whether the chunk already existed on disk before the load
+     * @param nanos The load duration in nanoseconds
+     */
+    public void recordLoadLatency(boolean generated, long nanos) {
+        long[] loads = generated ? generatedLoads : ungeneratedLoads;
+        synchronized (loads) {
+            loads[0]++;
+            loads[1] += nanos;
+        }
+    }
+    
+    /**
+     * Starts measuring an arrival for a player
+     * 
+     * @param playerId The player's UUID
+     */
+    public void begin(UUID playerId) {
+        openSamples.put(playerId, chunkLoads.get());
+    }
+    
+    /**
+     * Finishes measuring an arrival once the player's surroundings had time to load
+     * 
+     * @param playerId The player's UUID
+     * @param path What triggered the arrival and how the player arrived (e.g. "world-change:countdown")
+     */
+    public void end(UUID playerId, String path) {
+        Long start = openSamples.remove(playerId);
+        if (start == null) {
+            return;
+        }
+        
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            long[] total = totals.computeIfAbsent(path, key -> new long[2]);
+            synchronized (total) {
+                total[0]++;
+                total[1] += chunkLoads.get() - start;
+            }
+        }, SETTLE_TICKS);
+    }
+    
+    /**
+     * Drops an unfinished measurement (e.g. the player quit mid-countdown)
+     * 
+     * @param playerId The player's UUID
+     */
+    public void discard(UUID playerId) {
+        openSamples.remove(playerId);
+    }
+    
+    /**
+     * Logs the average chunks loaded per arrival for each path and the average
+     * chunk load latency for generated and ungenerated chunks
+     */
+    public void logSummary() {
+        logLatency("generated", generatedLoads);
+        logLatency("ungenerated", ungeneratedLoads);
+        
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            synchronized (total) {
+                if (total[0] > 0) {
+                    plugin.getLogger().info(String.format("Chunks loaded per arrival (%s): %.1f over %d arrivals",
+                        entry.getKey(), (double) total[1] / total[0], total[0]));
+                }
+            }
+        }
+    }
+    
+    private void logLatency(String label, long[] loads) {
+        synchronized (loads) {
+            if (loads[0] > 0) {
+                plugin.getLogger().info(String.format("Candidate chunk load latency (%s): %.1f ms over %d loads",
+                    label, loads[1] / 1_000_000.0 / loads[0], loads[0]));
+            }
+        }
+    }
+}
@@ -77,6 +77,162 @@ public class ConfigManager {
         return config.getInt("countdown-seconds", 3);
     }
     
+    /**
+     * Checks if validated safe locations should be cached and persisted across restarts
+     * 
+     * @return true if the location cache is enabled
+     */
+    public boolean isLocationCacheEnabled() {
+        return config.getBoolean("location-cache.enabled", true);
+    }
+    
+    /**
+     * Gets the number of cached locations a world needs before teleports are served from the cache
+     * 
+     * @return The minimum number of cached entries
+     */
+    public int getLocationCacheMinEntries() {
+        return config.getInt("location-cache.min-entries", 32);
+    }
+    
+    /**
+     * Gets the maximum number of cached locations kept per world
+     * 
+     * @return The maximum number of cached entries
+     */
+    public int getLocationCacheMaxEntries() {
+        return config.getInt("location-cache.max-entries", 512);
+    }
+    
+    /**
+     * Checks if background searches should keep refilling the target world's location cache
+     * Off by default: searches load and may generate chunks on the main thread
+     * 
+     * @return true if background refills are enabled
+     */
+    public boolean isLocationCacheRefillEnabled() {
+        return config.getBoolean("location-cache.background-refill", false);
+    }
+    
+    /**
+     * Gets how often a background search refills the target world's location cache
+     * 
+     * @return The refill interval in ticks
+     */
+    public long getLocationCacheRefillIntervalTicks() {
+        return config.getLong("location-cache.refill-interval-ticks", 40L);
+    }
+    
+    /**
+     * Checks if first arrivals should spawn directly at a random location instead of
+     * loading the world spawn first and teleporting after the countdown
+     * 
+     * @return true if the spawn-location override is enabled
+     */
+    public boolean isSpawnOverrideEnabled() {
+        return config.getBoolean("spawn-override.enabled", false);
+    }
+    
+    /**
+     * Gets how long a login may wait for its destination to be resolved
+     * 
+     * @return The resolve timeout in milliseconds
+     */
+    public long getSpawnOverrideResolveTimeoutMillis() {
+        return config.getLong("spawn-override.resolve-timeout-ms", 2000L);
+    }
+    
+    /**
+     * Gets how sampling uses the generated-chunk index: off, prefer or only
+     * 
+     * @return The generated-chunks mode
+     */
+    public String getGeneratedChunksMode() {
+        return config.getString("generated-chunks.mode", "off").toLowerCase();
+    }
+    
+    /**
+     * Gets how many attempts of a search sample generated chunks in prefer mode
+     * 
+     * @return The number of attempts restricted to generated chunks
+     */
+    public int getGeneratedChunksPreferAttempts() {
+        return config.getInt("generated-chunks.prefer-attempts", 16);
+    }
+    
+    /**
+     * Gets the radius in chunks preloaded around a destination before teleporting
+     * 
+     * @return The preload radius (0 loads only the destination chunk)
+     */
+    public int getPreloadRadius() {
+        return config.getInt("preload.radius", 2);
+    }
+    
+    /**
+     * Gets the maximum number of preload chunk loads in flight at once
+     * 
+     * @return The maximum concurrent chunk loads
+     */
+    public int getPreloadMaxConcurrent() {
+        return config.getInt("preload.max-concurrent", 8);
+    }
+    
+    /**
+     * Gets the fraction of the preload ring that must be loaded before teleporting
+     * 
+     * @return The required fraction, between 0 and 1
+     */
+    public double getPreloadRequiredFraction() {
+        return config.getDouble("preload.required-fraction", 1.0);
+    }
+    
+    /**
+     * Gets how long a teleport waits for the preload before going ahead anyway
+     * 
+     * @return The preload timeout in ticks
+     */
+    public long getPreloadTimeoutTicks() {
+        return config.getLong("preload.timeout-ticks", 100L);
+    }
+    
+    /**
+     * Gets how many safe location searches may run at once, shared by all plugins using the service
+     * 
+     * @return The maximum concurrent searches
+     */
+    public int getServiceMaxConcurrentSearches() {
+        return config.getInt("service.max-concurrent-searches", 4);
+    }
+    
+    /**
+     * Gets how many candidates the default search profile checks before giving up
+     * The plugin's own searches use it, so they never hold a search permit indefinitely
+     * 
+     * @return The attempt limit of the default profile
+     */
+    public int getServiceDefaultMaxAttempts() {
+        return config.getInt("service.default-max-attempts", 256);
+    }
+    
+    /**
+     * Gets where countdown messages are shown: chat, actionbar or title
+     * 
+     * @return The countdown display mode
+     */
+    public String getCountdownDisplay() {
+        return config.getString("countdown-messages.display", "chat").toLowerCase();
+    }
+    
+    /**
+     * Gets the minimum number of ticks between countdown messages to the same player
+     * 
+     * @return The minimum interval in ticks
+     */
+    public int getCountdownMinIntervalTicks() {
+        return config.getInt("countdown-messages.min-interval-ticks", 10);
+    }
+    
     /**
      * Gets a message from the configuration
      * 
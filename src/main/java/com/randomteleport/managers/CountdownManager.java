@@ -1,34 +1,54 @@
 package com.randomteleport.managers;
 
+import com.randomteleport.api.SafeLocationService;
+import com.randomteleport.api.SearchProfile;
 import com.randomteleport.utils.MessageHelper;
-import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Manages countdown timers for player teleportation
+ * All countdowns advance on one shared clock, so the messages of a second are
+ * queued in the same tick and batched together
  */
 public class CountdownManager {
+    private static final long CLOCK_PERIOD_TICKS = 20L; // 20 ticks = 1 second
+    private static final int MIN_FIRST_STEP_TICKS = 10; // Shortest first second of a countdown
+    private static final int MAX_SEARCH_ROUNDS = 8;
+    private static final long RETRY_DELAY_TICKS = 20L; // Delay before the second round, doubled for each further one
+    private static final long MAX_RETRY_DELAY_TICKS = 600L;
+    
     private final JavaPlugin plugin;
     private final ConfigManager configManager;
     private final TeleportManager teleportManager;
+    private final SafeLocationService safeLocationService;
     private final PlayerDataManager playerDataManager;
-    private final Map<UUID, BukkitTask> activeCountdowns;
+    private final ChunkStatsManager chunkStatsManager;
+    private final CountdownMessageManager countdownMessageManager;
+    private final Map<UUID, Countdown> activeCountdowns;
+    private BukkitTask clockTask;
     
     public CountdownManager(JavaPlugin plugin, ConfigManager configManager, 
-                           TeleportManager teleportManager, PlayerDataManager playerDataManager) {
+                           TeleportManager teleportManager, SafeLocationService safeLocationService,
+                           PlayerDataManager playerDataManager, ChunkStatsManager chunkStatsManager,
+                           CountdownMessageManager countdownMessageManager) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.teleportManager = teleportManager;
+        this.safeLocationService = safeLocationService;
         this.playerDataManager = playerDataManager;
-        this.activeCountdowns = new HashMap<>();
+        this.chunkStatsManager = chunkStatsManager;
+        this.countdownMessageManager = countdownMessageManager;
+        this.activeCountdowns = new LinkedHashMap<>();
     }
     
     /**
@@ -48,46 +68,15 @@ public class CountdownManager {
         
         int countdownSeconds = configManager.getCountdownSeconds();
         
-        // Send initial countdown message
-        String startMessage = configManager.getMessage("countdown-start");
-        if (!startMessage.isEmpty()) {
-            String formatted = MessageHelper.format(startMessage, "seconds", String.valueOf(countdownSeconds));
-            MessageHelper.sendMessage(player, formatted);
-        }
+        // Queue initial countdown message (sent batched at the end of the tick, never rate limited)
+        countdownMessageManager.queue(player, "countdown-start", countdownSeconds, false);
         
-        // Create countdown task
-        BukkitRunnable countdownRunnable = new BukkitRunnable() {
-            private int remaining = countdownSeconds;
-            
-            @Override
-            public void run() {
-                // Check if player is still online
-                Player currentPlayer = plugin.getServer().getPlayer(playerId);
-                if (currentPlayer == null || !currentPlayer.isOnline()) {
-                    cancelCountdown(playerId);
-                    return;
-                }
-                
-                remaining--;
-                
-                if (remaining > 0) {
-                    // Send countdown message
-                    String message = configManager.getMessage("countdown-remaining");
-                    if (!message.isEmpty()) {
-                        String formatted = MessageHelper.format(message, "seconds", String.valueOf(remaining));
-                        MessageHelper.sendMessage(currentPlayer, formatted);
-                    }
-                } else {
-                    // Countdown finished, teleport player
-                    cancelCountdown(playerId);
-                    teleportPlayer(currentPlayer);
-                }
-            }
-        };
-        
-        // Run countdown task every second
-        BukkitTask task = countdownRunnable.runTaskTimer(plugin, 20L, 20L); // 20 ticks = 1 second
-        activeCountdowns.put(playerId, task);
+        // Join the shared clock, which ticks every second
+        activeCountdowns.put(playerId, new Countdown(countdownSeconds, plugin.getServer().getCurrentTick()));
+        if (clockTask == null) {
+            clockTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick,
+                CLOCK_PERIOD_TICKS, CLOCK_PERIOD_TICKS);
+        }
     }
     
     /**
@@ -96,9 +85,8 @@ public class CountdownManager {
      * @param playerId The player's UUID
      */
     public void cancelCountdown(UUID playerId) {
-        BukkitTask task = activeCountdowns.remove(playerId);
-        if (task != null) {
-            task.cancel();
+        if (activeCountdowns.remove(playerId) != null && activeCountdowns.isEmpty()) {
+            stopClock();
         }
     }
     
@@ -113,11 +101,61 @@ public class CountdownManager {
     }
     
     /**
-     * Teleports a player to a random safe location
+     * Advances every active countdown by one second
+     */
+    private void tick() {
+        int currentTick = plugin.getServer().getCurrentTick();
+        List<Player> finished = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Countdown>> iterator = activeCountdowns.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Countdown> entry = iterator.next();
+            Countdown countdown = entry.getValue();
+            
+            // Keep the first second at least half a second long
+            if (currentTick - countdown.startTick < MIN_FIRST_STEP_TICKS) {
+                continue;
+            }
+            
+            // Check if player is still online
+            Player player = plugin.getServer().getPlayer(entry.getKey());
+            if (player == null || !player.isOnline()) {
+                iterator.remove();
+                continue;
+            }
+            
+            countdown.remaining--;
+            
+            if (countdown.remaining > 0) {
+                // Queue countdown message (sent batched at the end of the tick)
+                countdownMessageManager.queue(player, "countdown-remaining", countdown.remaining);
+            } else {
+                // Countdown finished, teleport player
+                iterator.remove();
+                finished.add(player);
+            }
+        }
+        
+        if (activeCountdowns.isEmpty()) {
+            stopClock();
+        }
+        for (Player player : finished) {
+            teleportPlayer(player);
+        }
+    }
+    
+    private void stopClock() {
+        if (clockTask != null) {
+            clockTask.cancel();
+            clockTask = null;
+        }
+    }
+    
+    /**
+     * Teleports a player to a random safe location right away, without a countdown
      * 
      * @param player The player to teleport
      */
-    private void teleportPlayer(Player player) {
+    public void teleportPlayer(Player player) {
         if (player == null || !player.isOnline()) {
             return;
         }
@@ -127,26 +165,27 @@ public class CountdownManager {
             return;
         }
         
-        // Send teleporting message
-        String teleportingMessage = configManager.getMessage("teleporting");
-        if (!teleportingMessage.isEmpty()) {
-            MessageHelper.sendMessage(player, teleportingMessage);
-        }
-        
-        // Find safe location (this will retry indefinitely until found)
-        // Run in async task to avoid blocking main thread
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            Location safeLocation = teleportManager.findSafeLocation(world);
-            
+        // Queue teleporting message
+        countdownMessageManager.queue(player, "teleporting");
+        searchAndTeleport(player, world, 1);
+    }
+    
+    /**
+     * Searches for a safe location and teleports the player there
+     * Searches give up after the default profile's attempt limit so they don't hold a
+     * shared search permit forever; a search that found nothing is retried after a
+     * growing delay, up to a maximum number of rounds
+     * 
+     * @param player The player to teleport
+     * @param world The world to search in
+     * @param round The 1-based search round
+     */
+    private void searchAndTeleport(Player player, World world, int round) {
+        // The shared service searches off the main thread, under the same limit as other plugins
+        SearchProfile profile = safeLocationService.getDefaultProfile(world);
+        safeLocationService.findSafeLocation(plugin, world, profile).thenAccept(safeLocation -> {
             if (safeLocation == null) {
-                // This should never happen as findSafeLocation retries indefinitely
-                plugin.getLogger().warning("Failed to find safe location for player " + player.getName());
-                String failedMessage = configManager.getMessage("teleport-failed");
-                if (!failedMessage.isEmpty()) {
-                    plugin.getServer().getScheduler().runTask(plugin, () -> {
-                        MessageHelper.sendMessage(player, failedMessage);
-                    });
-                }
+                plugin.getServer().getScheduler().runTask(plugin, () -> retrySearch(player, world, round));
                 return;
             }
             
@@ -155,19 +194,67 @@ public class CountdownManager {
                 // Only mark as teleported after successful teleportation
                 String worldName = world.getName();
                 playerDataManager.markPlayerTeleported(player.getUniqueId(), worldName);
+                chunkStatsManager.end(player.getUniqueId(), "world-change:countdown");
                 plugin.getLogger().info("Successfully teleported player " + player.getName() + 
                     " to " + safeLocation.getBlockX() + ", " + safeLocation.getBlockY() + ", " + safeLocation.getBlockZ());
             });
+        }).exceptionally(throwable -> {
+            plugin.getLogger().warning("Failed to find safe location for player " + player.getName() + ": " +
+                throwable.getMessage());
+            plugin.getServer().getScheduler().runTask(plugin, () -> sendTeleportFailed(player));
+            return null;
         });
     }
     
+    /**
+     * Schedules the next search round after one found nothing
+     * The player is told and the failure logged only after the first round
+     */
+    private void retrySearch(Player player, World world, int round) {
+        if (round == 1) {
+            plugin.getLogger().warning("No safe location found yet for player " + player.getName() + ", retrying");
+            sendTeleportFailed(player);
+        }
+        
+        if (round >= MAX_SEARCH_ROUNDS) {
+            plugin.getLogger().warning("Giving up on finding a safe location for player " + player.getName() +
+                " after " + round + " searches");
+            return;
+        }
+        
+        long delay = Math.min(MAX_RETRY_DELAY_TICKS, RETRY_DELAY_TICKS << (round - 1));
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline() && player.getWorld().equals(world)) {
+                searchAndTeleport(player, world, round + 1);
+            }
+        }, delay);
+    }
+    
+    private void sendTeleportFailed(Player player) {
+        String failedMessage = configManager.getMessage("teleport-failed");
+        if (!failedMessage.isEmpty() && player.isOnline()) {
+            MessageHelper.sendMessage(player, failedMessage);
+        }
+    }
+    
     /**
      * Cancels all active countdowns (used on plugin disable)
      */
     public void cancelAll() {
-        for (BukkitTask task : activeCountdowns.values()) {
-            task.cancel();
-        }
         activeCountdowns.clear();
+        stopClock();
+    }
+    
+    /**
+     * A running countdown of a single player
+     */
+    private static final class Countdown {
+        private final int startTick;
+        private int remaining;
+        
+        private Countdown(int remaining, int startTick) {
+            this.remaining = remaining;
+            this.startTick = startTick;
+        }
     }
 }
@@ -0,0 +1,160 @@
+package com.randomteleport.managers;
+
+import com.randomteleport.utils.MessageHelper;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batches countdown messages per tick: each distinct message is rendered once and
+ * sent to all of its recipients together as chat, action bar or title
+ * Must be used from the main thread
+ */
+public class CountdownMessageManager {
+    private static final Component NONE = Component.text(""); // Rendered form of an empty message
+    private static final int MAX_RENDERED = 256;
+    private static final Title.Times TITLE_TIMES = Title.Times.times(Duration.ZERO, Duration.ofMillis(1200),
+        Duration.ofMillis(200));
+    
+    private final JavaPlugin plugin;
+    private final ConfigManager configManager;
+    private final Map<String, Component> rendered;
+    private final Map<String, List<Player>> pending;
+    private final Map<UUID, Integer> lastSentTick;
+    
+    public CountdownMessageManager(JavaPlugin plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.rendered = new HashMap<>();
+        this.pending = new LinkedHashMap<>();
+        this.lastSentTick = new HashMap<>();
+    }
+    
+    /**
+     * Queues a message with a {seconds} placeholder for the end of the current tick
+     * Dropped if the player received a message within the configured minimum interval
+     * 
+     * @param player The recipient
+     * @param key The message key
+     * @param seconds The value for the {seconds} placeholder
+     */
+    public void queue(Player player, String key, int seconds) {
+        queue(player, key, seconds, true);
+    }
+    
+    /**
+     * Queues a message with a {seconds} placeholder for the end of the current tick
+     * 
+     * @param player The recipient
+     * @param key The message key
+     * @param seconds The value for the {seconds} placeholder
+     * @param rateLimited Whether to drop the message if the player received one within the minimum interval
+     */
+    public void queue(Player player, String key, int seconds, boolean rateLimited) {
+        enqueue(player, key + "#" + seconds, rateLimited);
+    }
+    
+    /**
+     * Queues a message without placeholders for the end of the current tick, bypassing the rate limit
+     * 
+     * @param player The recipient
+     * @param key The message key
+     */
+    public void queue(Player player, String key) {
+        enqueue(player, key, false);
+    }
+    
+    private void enqueue(Player player, String renderKey, boolean rateLimited) {
+        int currentTick = plugin.getServer().getCurrentTick();
+        Integer lastTick = lastSentTick.get(player.getUniqueId());
+        if (rateLimited && lastTick != null && currentTick - lastTick < configManager.getCountdownMinIntervalTicks()) {
+            return;
+        }
+        lastSentTick.put(player.getUniqueId(), currentTick);
+        pending.computeIfAbsent(renderKey, key -> new ArrayList<>()).add(player);
+    }
+    
+    /**
+     * Sends all queued messages, rendering each distinct message once
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        String display = configManager.getCountdownDisplay();
+        for (Map.Entry<String, List<Player>> entry : pending.entrySet()) {
+            Component message = render(entry.getKey());
+            if (message == NONE) {
+                continue;
+            }
+            
+            List<Player> recipients = entry.getValue();
+            recipients.removeIf(player -> !player.isOnline());
+            Audience audience = Audience.audience(recipients);
+            switch (display) {
+                case "actionbar" -> audience.sendActionBar(message);
+                case "title" -> audience.showTitle(Title.title(message, Component.empty(), TITLE_TIMES));
+                default -> audience.sendMessage(message);
+            }
+        }
+        pending.clear();
+    }
+    
+    /**
+     * Forgets a player's queued messages and rate limit state
+     * 
+     * @param playerId The player's UUID
+     */
+    public void forget(UUID playerId) {
+        lastSentTick.remove(playerId);
+        for (List<Player> recipients : pending.values()) {
+            recipients.removeIf(player -> player.getUniqueId().equals(playerId));
+        }
+    }
+    
+    /**
+     * Drops rendered messages so edited messages are picked up after a reload
+     */
+    public void reload() {
+        rendered.clear();
+    }
+    
+    /**
+     * Looks up, formats and colorizes a message, caching the result
+     */
+    private Component render(String renderKey) {
+        Component message = rendered.get(renderKey);
+        if (message != null) {
+            return message;
+        }
+        
+        int separator = renderKey.indexOf('#');
+        String template = configManager.getMessage(separator < 0 ? renderKey : renderKey.substring(0, separator));
+        if (template.trim().isEmpty()) {
+            message = NONE;
+        } else {
+            String formatted = separator < 0 ? template
+                : MessageHelper.format(template, "seconds", renderKey.substring(separator + 1));
+            message = LegacyComponentSerializer.legacyAmpersand().deserialize(formatted);
+        }
+        
+        // Placeholder values are bounded by the countdown length, but guard against odd configs
+        if (rendered.size() >= MAX_RENDERED) {
+            rendered.clear();
+        }
+        rendered.put(renderKey, message);
+        return message;
+    }
+}
@@ -0,0 +1,471 @@
+package com.randomteleport.managers;
+
+import com.randomteleport.api.SearchProfile;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Caches validated safe locations per world and chunk, persisted across restarts
+ * in a binary file
+ */
+public class LocationCacheManager {
+    private static final int MAGIC = 0x52545043; // "RTPC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 20; // magic, version, fingerprint, world count
+    private static final int WORLD_HEADER_BYTES = 28; // world UID, world fingerprint, entry count
+    private static final int ENTRY_BYTES = 12; // x, y, z
+    private static final int PICK_TRIES = 8; // Random entries checked against a profile per pick
+    
+    private final JavaPlugin plugin;
+    private final ConfigManager configManager;
+    private final File cacheFile;
+    private final Map<UUID, WorldEntries> worlds;
+    private final Random random;
+    private final Object saveLock; // Serializes saves, which share the temporary file
+    private long fingerprint;
+    private boolean dirty;
+    private BukkitRunnable saveTask;
+    
+    public LocationCacheManager(JavaPlugin plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.cacheFile = new File(plugin.getDataFolder(), "locations.dat");
+        this.worlds = new HashMap<>();
+        this.random = new Random();
+        this.saveLock = new Object();
+        this.fingerprint = computeFingerprint();
+        loadCache();
+        startAutoSave();
+    }
+    
+    /**
+     * Takes a random cached safe location for a world that lies inside a profile
+     * The entry is removed so no two players are sent to the same block
+     * Only serves entries once the world has at least the configured minimum cached
+     * 
+     * @param world The world to pick a location in
+     * @param profile The region and minimum Y the location must satisfy
+     * @return A cached location, or null if the cache is disabled, not warm yet
+     *         or no sampled entry matched the profile
+     */
+    public synchronized Location pick(World world, SearchProfile profile) {
+        if (world == null || !configManager.isLocationCacheEnabled()) {
+            return null;
+        }
+        
+        WorldEntries entries = getEntries(world, false);
+        if (entries == null || entries.size() == 0
+                || entries.size() < configManager.getLocationCacheMinEntries()) {
+            return null;
+        }
+        
+        // Entries found for other callers' profiles share the cache, so sample a few
+        for (int i = 0; i < PICK_TRIES; i++) {
+            int[] coords = entries.random(random);
+            if (profile.contains(coords[0], coords[1], coords[2])) {
+                entries.remove(chunkKey(coords[0] >> 4, coords[2] >> 4));
+                dirty = true;
+                return new Location(world, coords[0] + 0.5, coords[1], coords[2] + 0.5);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Takes a random cached safe location inside a profile whose chunk is already loaded,
+     * so it can be re-checked without loading anything; the entry is removed
+     * Only serves entries once the world has at least the configured minimum cached
+     * Must be called from the main thread
+     * 
+     * @param world The world to pick a location in
+     * @param profile The region and minimum Y the location must satisfy
+     * @return A cached location in a loaded chunk, or null if there is none
+     */
+    public synchronized Location pickLoaded(World world, SearchProfile profile) {
+        if (world == null || !configManager.isLocationCacheEnabled()) {
+            return null;
+        }
+        
+        WorldEntries entries = getEntries(world, false);
+        if (entries == null || entries.size() == 0
+                || entries.size() < configManager.getLocationCacheMinEntries()) {
+            return null;
+        }
+        
+        List<int[]> loaded = new ArrayList<>();
+        for (int[] coords : entries.byChunk.values()) {
+            if (profile.contains(coords[0], coords[1], coords[2])
+                    && world.isChunkLoaded(coords[0] >> 4, coords[2] >> 4)) {
+                loaded.add(coords);
+            }
+        }
+        if (loaded.isEmpty()) {
+            return null;
+        }
+        
+        int[] coords = loaded.get(random.nextInt(loaded.size()));
+        entries.remove(chunkKey(coords[0] >> 4, coords[2] >> 4));
+        dirty = true;
+        return new Location(world, coords[0] + 0.5, coords[1], coords[2] + 0.5);
+    }
+    
+    /**
+     * Adds a validated safe location to the cache
+     * Keeps at most one entry per chunk and stops growing at the configured maximum
+     * 
+     * @param location The safe location to remember
+     */
+    public synchronized void add(Location location) {
+        if (location == null || location.getWorld() == null || !configManager.isLocationCacheEnabled()) {
+            return;
+        }
+        
+        WorldEntries entries = getEntries(location.getWorld(), true);
+        long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        if (!entries.contains(chunkKey) && entries.size() >= configManager.getLocationCacheMaxEntries()) {
+            return;
+        }
+        
+        entries.put(chunkKey, new int[] {location.getBlockX(), location.getBlockY(), location.getBlockZ()});
+        dirty = true;
+    }
+    
+    /**
+     * Checks if a world's cache has room for more entries, so background searches should keep filling it
+     * 
+     * @param world The world to check
+     * @return true if the cache is enabled and the world has fewer than the maximum entries
+     */
+    public synchronized boolean needsRefill(World world) {
+        if (world == null || !configManager.isLocationCacheEnabled()) {
+            return false;
+        }
+        
+        WorldEntries entries = getEntries(world, false);
+        return entries == null || entries.size() < configManager.getLocationCacheMaxEntries();
+    }
+    
+    /**
+     * Removes a cached location, e.g. after it failed revalidation
+     * 
+     * @param location The cached location to remove
+     */
+    public synchronized void invalidate(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+        invalidateBlock(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+    
+    /**
+     * Drops the cached entry whose footprint (ground, feet and head blocks) contains
+     * the changed block, if any
+     * 
+     * @param world The world the block changed in
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     */
+    public synchronized void invalidateBlock(World world, int x, int y, int z) {
+        WorldEntries entries = worlds.get(world.getUID());
+        if (entries == null) {
+            return;
+        }
+        
+        long chunkKey = chunkKey(x >> 4, z >> 4);
+        int[] coords = entries.get(chunkKey);
+        if (coords == null || coords[0] != x || coords[2] != z) {
+            return;
+        }
+        
+        if (y >= coords[1] - 1 && y <= coords[1] + 1) {
+            entries.remove(chunkKey);
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Re-checks the configuration fingerprint and clears the cache if the region
+     * or safety rules changed
+     */
+    public synchronized void reload() {
+        long current = computeFingerprint();
+        if (current != fingerprint) {
+            plugin.getLogger().info("Teleport region changed, clearing cached safe locations");
+            fingerprint = current;
+            worlds.clear();
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Shuts down the manager and saves the cache
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+        }
+        saveCache();
+    }
+    
+    /**
+     * Gets the entries for a world, dropping them if the world's seed or spawn
+     * no longer match the ones they were validated against
+     */
+    private WorldEntries getEntries(World world, boolean create) {
+        long expected = computeWorldFingerprint(world);
+        WorldEntries entries = worlds.get(world.getUID());
+        if (entries != null && entries.fingerprint != expected) {
+            worlds.remove(world.getUID());
+            entries = null;
+            dirty = true;
+        }
+        
+        if (entries == null && create) {
+            entries = new WorldEntries(expected);
+            worlds.put(world.getUID(), entries);
+        }
+        return entries;
+    }
+    
+    /**
+     * Loads cached locations from the cache file
+     * Reads into a heap buffer rather than mapping the file, since a live mapping would
+     * keep later saves from replacing it on Windows
+     */
+    private void loadCache() {
+        if (!cacheFile.exists()) {
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                plugin.getLogger().warning("Ignoring unrecognized " + cacheFile.getName());
+                return;
+            }
+            
+            if (buffer.getLong() != fingerprint) {
+                plugin.getLogger().info("Teleport region changed since last run, discarding cached safe locations");
+                return;
+            }
+            
+            int worldCount = buffer.getInt();
+            int total = 0;
+            for (int i = 0; i < worldCount; i++) {
+                UUID worldId = new UUID(buffer.getLong(), buffer.getLong());
+                WorldEntries entries = new WorldEntries(buffer.getLong());
+                int count = buffer.getInt();
+                for (int j = 0; j < count; j++) {
+                    int x = buffer.getInt();
+                    int y = buffer.getInt();
+                    int z = buffer.getInt();
+                    entries.put(chunkKey(x >> 4, z >> 4), new int[] {x, y, z});
+                }
+                worlds.put(worldId, entries);
+                total += count;
+            }
+            plugin.getLogger().info("Loaded " + total + " cached safe locations");
+        } catch (IOException | BufferUnderflowException e) {
+            plugin.getLogger().warning("Failed to load " + cacheFile.getName() + ": " + e.getMessage());
+            worlds.clear();
+        }
+    }
+    
+    /**
+     * Saves cached locations to the cache file if anything changed
+     * Writes to a temporary file first so a crash never leaves a truncated cache
+     * Saves are serialized, so shutdown never races an auto-save still in progress
+     */
+    private void saveCache() {
+        synchronized (saveLock) {
+            writeCache();
+        }
+    }
+    
+    private void writeCache() {
+        Map<UUID, WorldEntries> snapshot = new HashMap<>();
+        long snapshotFingerprint;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            for (Map.Entry<UUID, WorldEntries> entry : worlds.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().copy());
+            }
+            snapshotFingerprint = fingerprint;
+            dirty = false;
+        }
+        
+        int size = HEADER_BYTES;
+        for (WorldEntries entries : snapshot.values()) {
+            size += WORLD_HEADER_BYTES + entries.size() * ENTRY_BYTES;
+        }
+        
+        File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+        try {
+            cacheFile.getParentFile().mkdirs();
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                buffer.putInt(MAGIC);
+                buffer.putInt(FORMAT_VERSION);
+                buffer.putLong(snapshotFingerprint);
+                buffer.putInt(snapshot.size());
+                for (Map.Entry<UUID, WorldEntries> entry : snapshot.entrySet()) {
+                    WorldEntries entries = entry.getValue();
+                    buffer.putLong(entry.getKey().getMostSignificantBits());
+                    buffer.putLong(entry.getKey().getLeastSignificantBits());
+                    buffer.putLong(entries.fingerprint);
+                    buffer.putInt(entries.size());
+                    for (int[] coords : entries.byChunk.values()) {
+                        buffer.putInt(coords[0]);
+                        buffer.putInt(coords[1]);
+                        buffer.putInt(coords[2]);
+                    }
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            
+            try {
+                Files.move(tempFile.toPath(), cacheFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save " + cacheFile.getName() + ": " + e.getMessage());
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+    
+    /**
+     * Starts the auto-save task that saves the cache every 5 minutes
+     */
+    private void startAutoSave() {
+        saveTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                // Snapshot is taken under lock, so the write can happen off the main thread
+                saveCache();
+            }
+        };
+        saveTask.runTaskTimerAsynchronously(plugin, 6000L, 6000L); // Every 5 minutes (6000 ticks)
+    }
+    
+    /**
+     * Computes the fingerprint of the settings cached locations were validated against
+     */
+    private long computeFingerprint() {
+        long hash = TeleportManager.SAFETY_RULES_VERSION;
+        hash = 31 * hash + configManager.getMinX();
+        hash = 31 * hash + configManager.getMaxX();
+        hash = 31 * hash + configManager.getMinZ();
+        hash = 31 * hash + configManager.getMaxZ();
+        return hash;
+    }
+    
+    /**
+     * Computes the fingerprint of a world's seed and spawn (the region is spawn-relative)
+     */
+    private static long computeWorldFingerprint(World world) {
+        Location spawn = world.getSpawnLocation();
+        long hash = world.getSeed();
+        hash = 31 * hash + spawn.getBlockX();
+        hash = 31 * hash + spawn.getBlockZ();
+        return hash;
+    }
+    
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Cached locations of a single world, at most one per chunk
+     * Keeps a dense key list so random picks don't have to walk the map
+     */
+    private static final class WorldEntries {
+        private final long fingerprint;
+        private final Map<Long, int[]> byChunk = new HashMap<>();
+        private final List<Long> chunkKeys = new ArrayList<>();
+        private final Map<Long, Integer> slots = new HashMap<>();
+        
+        private WorldEntries(long fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        
+        private int size() {
+            return chunkKeys.size();
+        }
+        
+        private boolean contains(long chunkKey) {
+            return byChunk.containsKey(chunkKey);
+        }
+        
+        private int[] get(long chunkKey) {
+            return byChunk.get(chunkKey);
+        }
+        
+        private void put(long chunkKey, int[] coords) {
+            if (byChunk.put(chunkKey, coords) == null) {
+                slots.put(chunkKey, chunkKeys.size());
+                chunkKeys.add(chunkKey);
+            }
+        }
+        
+        private void remove(long chunkKey) {
+            if (byChunk.remove(chunkKey) == null) {
+                return;
+            }
+            // Swap the last key into the freed slot to keep removal O(1)
+            int slot = slots.remove(chunkKey);
+            long last = chunkKeys.remove(chunkKeys.size() - 1);
+            if (slot < chunkKeys.size()) {
+                chunkKeys.set(slot, last);
+                slots.put(last, slot);
+            }
+        }
+        
+        private int[] random(Random random) {
+            return byChunk.get(chunkKeys.get(random.nextInt(chunkKeys.size())));
+        }
+        
+        private WorldEntries copy() {
+            WorldEntries copy = new WorldEntries(fingerprint);
+            for (Map.Entry<Long, int[]> entry : byChunk.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+            return copy;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.randomteleport.managers;
 
+import com.randomteleport.jfr.PlayerDataFlushEvent;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -44,13 +46,27 @@ public class PlayerDataManager {
      * Saves player data to the YAML file
      */
     private void saveData() {
+        PlayerDataFlushEvent flushEvent = new PlayerDataFlushEvent();
+        flushEvent.begin();
+        boolean success = false;
         try {
             dataConfig.save(dataFile);
+            success = true;
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to save players.yml: " + e.getMessage());
+        } finally {
+            flushEvent.complete(this::countStoredPlayers, success);
         }
     }
     
+    /**
+     * Counts the players stored in the data file
+     */
+    private int countStoredPlayers() {
+        ConfigurationSection players = dataConfig.getConfigurationSection("players");
+        return players != null ? players.getKeys(false).size() : 0;
+    }
+    
     /**
      * Starts the auto-save task that saves data every 5 minutes
      */
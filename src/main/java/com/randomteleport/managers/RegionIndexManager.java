@@ -0,0 +1,245 @@
+package com.randomteleport.managers;
+
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indexes which chunks already exist on disk, read from the location tables of the
+ * world's region files, so searches can avoid triggering world generation
+ */
+public class RegionIndexManager {
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final int LOCATION_TABLE_BYTES = 4096; // 1024 chunk entries of 4 bytes
+    private static final int PROBES_PER_PICK = 4096;
+    
+    /**
+     * Whether a chunk exists on disk, as far as the index knows
+     */
+    public enum ChunkStatus {
+        GENERATED,
+        UNGENERATED,
+        UNKNOWN
+    }
+    
+    private final JavaPlugin plugin;
+    private final Map<UUID, WorldIndex> worlds;
+    
+    public RegionIndexManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.worlds = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Picks a random block column inside a generated chunk within the given bounds
+     * Starts indexing the world in the background the first time it is asked for
+     * 
+     * @param world The world to pick in
+     * @param minX The minimum block X coordinate
+     * @param maxX The maximum block X coordinate
+     * @param minZ The minimum block Z coordinate
+     * @param maxZ The maximum block Z coordinate
+     * @param random The random source
+     * @return An {x, z} column, or null if the index isn't ready or no generated chunk was found
+     */
+    public int[] randomGeneratedColumn(World world, int minX, int maxX, int minZ, int maxZ, Random random) {
+        WorldIndex index = getIndex(world);
+        if (!index.ready) {
+            return null;
+        }
+        
+        int minChunkX = minX >> 4;
+        int maxChunkX = maxX >> 4;
+        int minChunkZ = minZ >> 4;
+        int maxChunkZ = maxZ >> 4;
+        for (int i = 0; i < PROBES_PER_PICK; i++) {
+            int chunkX = minChunkX + random.nextInt(maxChunkX - minChunkX + 1);
+            int chunkZ = minChunkZ + random.nextInt(maxChunkZ - minChunkZ + 1);
+            if (!index.isGenerated(chunkX, chunkZ)) {
+                continue;
+            }
+            
+            // Clip the chunk to the bounds before picking a column in it
+            int fromX = Math.max(minX, chunkX << 4);
+            int toX = Math.min(maxX, (chunkX << 4) + 15);
+            int fromZ = Math.max(minZ, chunkZ << 4);
+            int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+            return new int[] {fromX + random.nextInt(toX - fromX + 1), fromZ + random.nextInt(toZ - fromZ + 1)};
+        }
+        return null;
+    }
+    
+    /**
+     * Looks up whether a chunk exists on disk without touching the disk
+     * Unlike World#isChunkGenerated this never waits on chunk I/O, so it is safe on the main thread
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The chunk's status, or UNKNOWN if the world isn't indexed yet
+     */
+    public ChunkStatus getStatus(World world, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null || !index.ready) {
+            return ChunkStatus.UNKNOWN;
+        }
+        return index.isGenerated(chunkX, chunkZ) ? ChunkStatus.GENERATED : ChunkStatus.UNGENERATED;
+    }
+    
+    /**
+     * Marks a chunk as generated (called when a new chunk is created)
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public void markGenerated(World world, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index != null) {
+            index.mark(chunkX, chunkZ);
+        }
+    }
+    
+    /**
+     * Starts indexing a world in the background if it isn't indexed yet
+     * 
+     * @param world The world to index
+     */
+    public void index(World world) {
+        getIndex(world);
+    }
+    
+    /**
+     * Starts indexing a world if needed and waits for the index to be ready
+     * Blocks, so it must only be called off the main thread
+     * 
+     * @param world The world to index
+     * @param timeoutMillis How long to wait at most
+     * @return true if the index is ready
+     */
+    public boolean awaitIndex(World world, long timeoutMillis) {
+        WorldIndex index = getIndex(world);
+        try {
+            return index.built.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Forgets a world's index (e.g. the world was unloaded)
+     * 
+     * @param world The world to forget
+     */
+    public void remove(World world) {
+        worlds.remove(world.getUID());
+    }
+    
+    private WorldIndex getIndex(World world) {
+        return worlds.computeIfAbsent(world.getUID(), id -> {
+            WorldIndex index = new WorldIndex();
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> buildIndex(world, index));
+            return index;
+        });
+    }
+    
+    /**
+     * Reads the location table of every region file; a non-zero entry means the chunk exists
+     */
+    private void buildIndex(World world, WorldIndex index) {
+        long start = System.nanoTime();
+        File[] regionFiles = getRegionFolder(world).listFiles((dir, name) -> name.endsWith(".mca"));
+        int chunks = 0;
+        try {
+            chunks = readRegionFiles(regionFiles, index);
+        } finally {
+            // Release waiting searches even if indexing failed; the index then only knows new chunks
+            index.ready = true;
+            index.built.countDown();
+        }
+        plugin.getLogger().info("Indexed " + chunks + " generated chunks in " + world.getName() +
+            " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+    
+    private int readRegionFiles(File[] regionFiles, WorldIndex index) {
+        int chunks = 0;
+        if (regionFiles != null) {
+            for (File regionFile : regionFiles) {
+                Matcher matcher = REGION_FILE.matcher(regionFile.getName());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int regionX = Integer.parseInt(matcher.group(1));
+                int regionZ = Integer.parseInt(matcher.group(2));
+                
+                try (FileChannel channel = FileChannel.open(regionFile.toPath(), StandardOpenOption.READ)) {
+                    if (channel.size() < LOCATION_TABLE_BYTES) {
+                        continue;
+                    }
+                    MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, LOCATION_TABLE_BYTES);
+                    for (int i = 0; i < 1024; i++) {
+                        if (table.getInt(i * 4) != 0) {
+                            index.mark((regionX << 5) + (i & 31), (regionZ << 5) + (i >> 5));
+                            chunks++;
+                        }
+                    }
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to read " + regionFile.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+        return chunks;
+    }
+    
+    private static File getRegionFolder(World world) {
+        return switch (world.getEnvironment()) {
+            case NETHER -> new File(world.getWorldFolder(), "DIM-1/region");
+            case THE_END -> new File(world.getWorldFolder(), "DIM1/region");
+            default -> new File(world.getWorldFolder(), "region");
+        };
+    }
+    
+    /**
+     * Presence bitmap of a single world, one 1024-bit block per region
+     */
+    private static final class WorldIndex {
+        private final Map<Long, AtomicLongArray> regions = new ConcurrentHashMap<>();
+        private final CountDownLatch built = new CountDownLatch(1);
+        private volatile boolean ready;
+        
+        private void mark(int chunkX, int chunkZ) {
+            AtomicLongArray bits = regions.computeIfAbsent(regionKey(chunkX, chunkZ), key -> new AtomicLongArray(16));
+            int bit = (chunkX & 31) | ((chunkZ & 31) << 5);
+            long mask = 1L << (bit & 63);
+            bits.getAndUpdate(bit >> 6, word -> word | mask);
+        }
+        
+        private boolean isGenerated(int chunkX, int chunkZ) {
+            AtomicLongArray bits = regions.get(regionKey(chunkX, chunkZ));
+            if (bits == null) {
+                return false;
+            }
+            int bit = (chunkX & 31) | ((chunkZ & 31) << 5);
+            return (bits.get(bit >> 6) & (1L << (bit & 63))) != 0;
+        }
+        
+        private static long regionKey(int chunkX, int chunkZ) {
+            return ((long) (chunkX >> 5) << 32) | ((chunkZ >> 5) & 0xFFFFFFFFL);
+        }
+    }
+}
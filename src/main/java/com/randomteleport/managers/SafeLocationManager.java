@@ -0,0 +1,205 @@
+package com.randomteleport.managers;
+
+import com.randomteleport.api.SafeLocationService;
+import com.randomteleport.api.SearchProfile;
+import com.randomteleport.api.ServiceUsage;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exposes the teleport manager's search, cache and chunk preloading to other plugins
+ * Searches from all callers, including this plugin, share one concurrency limit
+ * Spare search capacity can optionally refill the target world's location cache in the background
+ */
+public class SafeLocationManager implements SafeLocationService {
+    private static final long PERMIT_POLL_MILLIS = 50L; // How often a queued search checks if its caller gave up
+    
+    private final JavaPlugin plugin;
+    private final ConfigManager configManager;
+    private final TeleportManager teleportManager;
+    private final LocationCacheManager locationCache;
+    private final Semaphore searchPermits;
+    private final Map<String, UsageCounters> usage;
+    private final Set<UUID> refilling;
+    private BukkitRunnable refillTask;
+    
+    public SafeLocationManager(JavaPlugin plugin, ConfigManager configManager, TeleportManager teleportManager,
+                               LocationCacheManager locationCache) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.teleportManager = teleportManager;
+        this.locationCache = locationCache;
+        this.searchPermits = new Semaphore(Math.max(1, configManager.getServiceMaxConcurrentSearches()), true);
+        this.usage = new ConcurrentHashMap<>();
+        this.refilling = ConcurrentHashMap.newKeySet();
+        startCacheRefill();
+    }
+    
+    @Override
+    public CompletableFuture<Location> findSafeLocation(Plugin caller, World world, SearchProfile profile) {
+        if (world == null || profile == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        UsageCounters counters = getCounters(caller);
+        counters.searches.increment();
+        CompletableFuture<Location> future = new CompletableFuture<>();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            // Wait for a permit, dropping the search as soon as the caller gives up
+            try {
+                while (!searchPermits.tryAcquire(PERMIT_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (future.isDone()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.complete(null);
+                return;
+            }
+            
+            long start = System.nanoTime();
+            try {
+                TeleportManager.SearchResult result = teleportManager.findSafeLocation(world, profile, future::isDone);
+                if (result.cached()) {
+                    counters.cacheHits.increment();
+                } else if (result.location() == null && !future.isDone()) {
+                    counters.failedSearches.increment();
+                }
+                future.complete(result.location());
+            } catch (RuntimeException e) {
+                counters.failedSearches.increment();
+                future.completeExceptionally(e);
+            } finally {
+                counters.searchNanos.add(System.nanoTime() - start);
+                searchPermits.release();
+            }
+        });
+        return future;
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> teleport(Plugin caller, Player player, Location destination) {
+        getCounters(caller).teleports.increment();
+        return teleportManager.teleportPlayer(player, destination);
+    }
+    
+    @Override
+    public SearchProfile getDefaultProfile(World world) {
+        return teleportManager.getDefaultProfile(world);
+    }
+    
+    @Override
+    public ServiceUsage getUsage(Plugin caller) {
+        UsageCounters counters = usage.get(caller.getName());
+        if (counters == null) {
+            return new ServiceUsage(0, 0, 0, 0, 0);
+        }
+        return counters.snapshot();
+    }
+    
+    /**
+     * Runs one background search for a world if background refills are enabled and its
+     * location cache has room, so served entries are replaced and the cache keeps growing
+     * Yields to other searches: skipped while any search waits for a permit, and stopped
+     * as soon as one starts waiting
+     * Must be called from the main thread
+     * 
+     * @param world The world to refill
+     */
+    public void refillCache(World world) {
+        if (!configManager.isLocationCacheRefillEnabled() || !locationCache.needsRefill(world)
+                || !refilling.add(world.getUID())) {
+            return;
+        }
+        
+        SearchProfile profile = teleportManager.getDefaultProfile(world);
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            // tryAcquire() ignores fairness, so check for queued searches first
+            if (searchPermits.hasQueuedThreads() || !searchPermits.tryAcquire()) {
+                refilling.remove(world.getUID());
+                return;
+            }
+            
+            try {
+                // Found locations are added to the cache by the search itself
+                teleportManager.searchSafeLocation(world, profile,
+                    () -> !plugin.isEnabled() || searchPermits.hasQueuedThreads());
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Failed to refill cached safe locations: " + e.getMessage());
+            } finally {
+                searchPermits.release();
+                refilling.remove(world.getUID());
+            }
+        });
+    }
+    
+    /**
+     * Stops the background cache refill
+     */
+    public void shutdown() {
+        if (refillTask != null) {
+            refillTask.cancel();
+        }
+    }
+    
+    /**
+     * Logs each caller's usage of the service
+     */
+    public void logUsage() {
+        for (Map.Entry<String, UsageCounters> entry : usage.entrySet()) {
+            plugin.getLogger().info("Service usage by " + entry.getKey() + ": " + entry.getValue().snapshot());
+        }
+    }
+    
+    /**
+     * Starts the task that refills the target world's location cache
+     * The task itself is cheap while refills are disabled, so they can be toggled on reload
+     */
+    private void startCacheRefill() {
+        long interval = Math.max(1L, configManager.getLocationCacheRefillIntervalTicks());
+        refillTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                World world = plugin.getServer().getWorld(configManager.getTargetWorld());
+                if (world != null) {
+                    refillCache(world);
+                }
+            }
+        };
+        refillTask.runTaskTimer(plugin, interval, interval);
+    }
+    
+    private UsageCounters getCounters(Plugin caller) {
+        return usage.computeIfAbsent(caller.getName(), name -> new UsageCounters());
+    }
+    
+    /**
+     * Live usage counters of a single caller
+     */
+    private static final class UsageCounters {
+        private final LongAdder searches = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder failedSearches = new LongAdder();
+        private final LongAdder teleports = new LongAdder();
+        private final LongAdder searchNanos = new LongAdder();
+        
+        private ServiceUsage snapshot() {
+            return new ServiceUsage(searches.sum(), cacheHits.sum(), failedSearches.sum(), teleports.sum(),
+                searchNanos.sum() / 1_000_000);
+        }
+    }
+}
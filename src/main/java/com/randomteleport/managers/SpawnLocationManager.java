@@ -0,0 +1,177 @@
+package com.randomteleport.managers;
+
+import com.randomteleport.api.SafeLocationService;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves random destinations ahead of a first arrival so the player spawns
+ * there directly instead of loading the world spawn and teleporting again
+ */
+public class SpawnLocationManager {
+    private final JavaPlugin plugin;
+    private final ConfigManager configManager;
+    private final TeleportManager teleportManager;
+    private final SafeLocationService safeLocationService;
+    private final PlayerDataManager playerDataManager;
+    private final ChunkStatsManager chunkStatsManager;
+    private final CountdownManager countdownManager;
+    private final Map<UUID, CompletableFuture<Location>> pendingLogins;
+    private final Map<UUID, Location> pendingArrivals;
+    
+    public SpawnLocationManager(JavaPlugin plugin, ConfigManager configManager, TeleportManager teleportManager,
+                                SafeLocationService safeLocationService, PlayerDataManager playerDataManager,
+                                ChunkStatsManager chunkStatsManager, CountdownManager countdownManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.teleportManager = teleportManager;
+        this.safeLocationService = safeLocationService;
+        this.playerDataManager = playerDataManager;
+        this.chunkStatsManager = chunkStatsManager;
+        this.countdownManager = countdownManager;
+        this.pendingLogins = new ConcurrentHashMap<>();
+        this.pendingArrivals = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Resolves a destination for a logging-in player and loads its chunk
+     * Only runs for new players whose spawn world is the target world, since that is the
+     * only case where the spawn world is known before the player's data is loaded
+     * Blocks for at most the configured timeout, so it must only be called off the main thread
+     * 
+     * @param playerId The player's UUID
+     */
+    public void resolveForLogin(UUID playerId) {
+        World world = plugin.getServer().getWorld(configManager.getTargetWorld());
+        if (world == null || !plugin.getServer().getWorlds().get(0).equals(world)
+                || plugin.getServer().getOfflinePlayer(playerId).hasPlayedBefore()
+                || playerDataManager.hasPlayerBeenTeleported(playerId, world.getName())) {
+            return;
+        }
+        
+        // Measure from before the destination chunk load, like world changes are measured from the teleport
+        chunkStatsManager.begin(playerId);
+        CompletableFuture<Location> future = new CompletableFuture<>();
+        pendingLogins.put(playerId, future);
+        
+        // Search through the shared service so a slow search can't hold the login past the timeout
+        CompletableFuture<Location> search = safeLocationService.findSafeLocation(plugin, world,
+            safeLocationService.getDefaultProfile(world));
+        search.whenComplete((location, throwable) -> {
+            if (location == null) {
+                future.complete(null);
+                return;
+            }
+            teleportManager.loadChunkAsync(world, location.getBlockX() >> 4, location.getBlockZ() >> 4)
+                .whenComplete((chunk, loadThrowable) -> future.complete(location));
+        });
+        
+        try {
+            if (future.get(configManager.getSpawnOverrideResolveTimeoutMillis(), TimeUnit.MILLISECONDS) != null) {
+                return;
+            }
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Timed out resolving spawn location for " + playerId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.getLogger().warning("Failed to resolve spawn location for " + playerId + ": " + e.getMessage());
+        }
+        
+        // Stop waiting: the player spawns normally, and the search is dropped if it hasn't finished
+        search.cancel(false);
+        discard(playerId);
+    }
+    
+    /**
+     * Takes the destination resolved during login, if it finished in time
+     * 
+     * @param playerId The player's UUID
+     * @return The resolved location, or null if none is available
+     */
+    public Location takeResolvedLocation(UUID playerId) {
+        CompletableFuture<Location> future = pendingLogins.remove(playerId);
+        return future != null ? future.getNow(null) : null;
+    }
+    
+    /**
+     * Forgets a login destination or redirect and its measurement (e.g. the login was denied)
+     * 
+     * @param playerId The player's UUID
+     */
+    public void discard(UUID playerId) {
+        pendingLogins.remove(playerId);
+        pendingArrivals.remove(playerId);
+        chunkStatsManager.discard(playerId);
+    }
+    
+    /**
+     * Applies a login destination as the player's spawn and marks them as teleported
+     * Must be called from the main thread
+     * 
+     * @param player The spawning player
+     * @param location The resolved destination
+     */
+    public void applyLoginSpawn(Player player, Location location) {
+        playerDataManager.markPlayerTeleported(player.getUniqueId(), location.getWorld().getName());
+        chunkStatsManager.end(player.getUniqueId(), "login:spawn-override");
+    }
+    
+    /**
+     * Picks a destination for a world change without searching or loading chunks, so it
+     * can be used from the synchronous teleport event
+     * 
+     * @param world The world being entered
+     * @return A cached safe location in a loaded chunk that passed the safety checks just now,
+     *         or null if there is none
+     */
+    public Location pickForWorldChange(World world) {
+        return teleportManager.pickCachedLocationWithoutLoading(world);
+    }
+    
+    /**
+     * Remembers that a world change was redirected to a random destination
+     * 
+     * @param playerId The player's UUID
+     * @param destination The cached destination the player was sent to
+     */
+    public void markPendingArrival(UUID playerId, Location destination) {
+        pendingArrivals.put(playerId, destination);
+    }
+    
+    /**
+     * Completes a redirected world change by re-checking the destination, in case it changed
+     * since the teleport event, and marking the player as teleported
+     * If the destination is no longer safe, the player is sent to a searched location right away
+     * 
+     * @param player The player who changed worlds
+     * @return true if the player arrived through the spawn-location override
+     */
+    public boolean completeArrival(Player player) {
+        Location destination = pendingArrivals.remove(player.getUniqueId());
+        if (destination == null) {
+            return false;
+        }
+        
+        if (!teleportManager.isLocationSafe(destination)) {
+            // Not a clean override arrival, so don't count it as either path
+            chunkStatsManager.discard(player.getUniqueId());
+            countdownManager.teleportPlayer(player);
+            return true;
+        }
+        
+        playerDataManager.markPlayerTeleported(player.getUniqueId(), player.getWorld().getName());
+        chunkStatsManager.end(player.getUniqueId(), "world-change:spawn-override");
+        return true;
+    }
+}
@@ -1,6 +1,12 @@
 package com.randomteleport.managers;
 
+import com.randomteleport.api.SearchProfile;
+import com.randomteleport.jfr.CandidateRejectedEvent;
+import com.randomteleport.jfr.SearchFinishedEvent;
+import com.randomteleport.jfr.SearchStartedEvent;
+import com.randomteleport.jfr.TeleportAppliedEvent;
 import com.randomteleport.utils.MessageHelper;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -10,52 +16,252 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 
 /**
  * Manages teleportation logic with safe location finding and async chunk loading
  */
 public class TeleportManager {
+    /**
+     * Version of the safety rules below; bump it when they change so persisted
+     * cached locations validated against the old rules are discarded
+     */
+    public static final int SAFETY_RULES_VERSION = 1;
+    
+    private static final long INDEX_WAIT_MILLIS = 5000L; // How long only-mode searches wait for the chunk index
+    
+    /**
+     * Reason codes for candidates that fail the safety checks
+     */
+    public enum RejectReason {
+        NO_SURFACE,
+        OBSTRUCTED,
+        NO_HEADROOM,
+        NO_GROUND,
+        LIQUID,
+        VOID,
+        TOO_LOW
+    }
+    
+    /**
+     * Outcome of a safe location search
+     * 
+     * @param location The safe location, or null if none was found
+     * @param cached Whether the location was served from the cache
+     */
+    public record SearchResult(Location location, boolean cached) {
+    }
+    
     private final JavaPlugin plugin;
     private final ConfigManager configManager;
+    private final LocationCacheManager locationCache;
+    private final RegionIndexManager regionIndex;
+    private final ChunkPreloadManager chunkPreloadManager;
+    private final ChunkStatsManager chunkStatsManager;
     private final Random random;
     
-    public TeleportManager(JavaPlugin plugin, ConfigManager configManager) {
+    public TeleportManager(JavaPlugin plugin, ConfigManager configManager, LocationCacheManager locationCache,
+                           RegionIndexManager regionIndex, ChunkPreloadManager chunkPreloadManager,
+                           ChunkStatsManager chunkStatsManager) {
         this.plugin = plugin;
         this.configManager = configManager;
+        this.locationCache = locationCache;
+        this.regionIndex = regionIndex;
+        this.chunkPreloadManager = chunkPreloadManager;
+        this.chunkStatsManager = chunkStatsManager;
         this.random = new Random();
     }
     
     /**
-     * Finds a safe random location within the configured radius
-     * Retries indefinitely until a safe location is found
+     * Finds a safe random location matching a profile
+     * Serves a cached location when the cache is warm, otherwise searches
      * 
      * @param world The world to search in
-     * @return A safe location, or null if world is invalid
+     * @param profile The region and safety rules to apply
+     * @param cancelled Checked before each attempt; the search stops once it returns true
+     * @return The result, with a null location if none was found within the profile's attempt limit
      */
-    public Location findSafeLocation(World world) {
-        if (world == null) {
-            return null;
+    public SearchResult findSafeLocation(World world, SearchProfile profile, BooleanSupplier cancelled) {
+        return search(world, profile, cancelled, true);
+    }
+    
+    /**
+     * Finds a safe random location matching a profile, without consulting the cache
+     * Found locations are still added to the cache
+     * 
+     * @param world The world to search in
+     * @param profile The region and safety rules to apply
+     * @param cancelled Checked before each attempt; the search stops once it returns true
+     * @return A safe location, or null if none was found within the profile's attempt limit
+     */
+    public Location searchSafeLocation(World world, SearchProfile profile, BooleanSupplier cancelled) {
+        return search(world, profile, cancelled, false).location();
+    }
+    
+    private SearchResult search(World world, SearchProfile profile, BooleanSupplier cancelled, boolean useCache) {
+        SearchStartedEvent.emit(world.getName());
+        SearchFinishedEvent searchEvent = new SearchFinishedEvent();
+        searchEvent.begin();
+        
+        // Serve from the cache when possible
+        if (useCache) {
+            Location cached = pickCachedLocation(world, profile);
+            if (cached != null) {
+                searchEvent.complete(world.getName(), 1, 0L, "cache");
+                return new SearchResult(cached, true);
+            }
         }
         
-        Location spawnLocation = world.getSpawnLocation();
-        int minX = configManager.getMinX();
-        int maxX = configManager.getMaxX();
-        int minZ = configManager.getMinZ();
-        int maxZ = configManager.getMaxZ();
-        
-        // Retry indefinitely until a safe location is found
-        while (true) {
-            // Generate random coordinates within the configured radius
-            int x = spawnLocation.getBlockX() + minX + random.nextInt(maxX - minX + 1);
-            int z = spawnLocation.getBlockZ() + minZ + random.nextInt(maxZ - minZ + 1);
+        // Only-mode never samples outside generated chunks, so it needs the index first
+        boolean generatedOnly = configManager.getGeneratedChunksMode().equals("only");
+        if (generatedOnly && !regionIndex.awaitIndex(world, INDEX_WAIT_MILLIS)) {
+            searchEvent.complete(world.getName(), 0, 0L, "unindexed");
+            return new SearchResult(null, false);
+        }
+        
+        int attempts = 0;
+        long chunkAccessNanos = 0L;
+        
+        // Retry until a safe location is found or the profile's attempt limit is reached
+        while (profile.getMaxAttempts() == 0 || attempts < profile.getMaxAttempts()) {
+            if (cancelled.getAsBoolean()) {
+                searchEvent.complete(world.getName(), attempts, chunkAccessNanos, "cancelled");
+                return new SearchResult(null, false);
+            }
+            attempts++;
+            
+            // Generate random coordinates within the profile's region
+            int[] column = randomColumn(world, profile.getMinX(), profile.getMaxX(),
+                profile.getMinZ(), profile.getMaxZ(), attempts, generatedOnly);
+            if (column == null) {
+                continue;
+            }
+            int x = column[0];
+            int z = column[1];
+            
+            // Look up whether the chunk exists on disk before the access below loads or generates it;
+            // already loaded chunks don't cost a load, so they are left out of the latency stats
+            RegionIndexManager.ChunkStatus status = world.isChunkLoaded(x >> 4, z >> 4)
+                ? RegionIndexManager.ChunkStatus.UNKNOWN : regionIndex.getStatus(world, x >> 4, z >> 4);
+            
+            // The first block access loads (or generates) the chunk synchronously, so time it separately
+            long accessStart = System.nanoTime();
+            int highestY = world.getHighestBlockYAt(x, z);
+            long accessNanos = System.nanoTime() - accessStart;
+            chunkAccessNanos += accessNanos;
+            if (status != RegionIndexManager.ChunkStatus.UNKNOWN) {
+                chunkStatsManager.recordLoadLatency(status == RegionIndexManager.ChunkStatus.GENERATED, accessNanos);
+            }
             
             // Find the highest safe block at these coordinates
-            Location candidate = findHighestSafeBlock(world, x, z);
+            Location candidate = findHighestSafeBlock(world, x, z, highestY, profile.getMinY());
+            if (candidate == null) {
+                CandidateRejectedEvent.emit(world.getName(), x, z, RejectReason.NO_SURFACE.name(), false,
+                    accessNanos);
+                continue;
+            }
             
-            if (candidate != null && isLocationSafe(candidate)) {
-                return candidate;
+            RejectReason reason = checkLocation(candidate, profile.getMinY());
+            if (reason == null) {
+                locationCache.add(candidate);
+                searchEvent.complete(world.getName(), attempts, chunkAccessNanos, "found");
+                return new SearchResult(candidate, false);
+            }
+            CandidateRejectedEvent.emit(world.getName(), x, z, reason.name(), false, accessNanos);
+        }
+        
+        searchEvent.complete(world.getName(), attempts, chunkAccessNanos, "exhausted");
+        return new SearchResult(null, false);
+    }
+    
+    /**
+     * Takes a cached safe location within the configured radius without searching or loading
+     * chunks, so it can be used from the main thread
+     * Only locations in loaded chunks are considered, and they are re-checked before being returned
+     * 
+     * @param world The world to pick a location in
+     * @return A re-checked cached location, or null if none is available in a loaded chunk
+     */
+    public Location pickCachedLocationWithoutLoading(World world) {
+        SearchProfile profile = getDefaultProfile(world);
+        Location cached;
+        while ((cached = locationCache.pickLoaded(world, profile)) != null) {
+            RejectReason reason = checkLocation(cached, profile.getMinY());
+            if (reason == null) {
+                return cached;
+            }
+            CandidateRejectedEvent.emit(world.getName(), cached.getBlockX(), cached.getBlockZ(), reason.name(),
+                true, 0L);
+        }
+        return null;
+    }
+    
+    /**
+     * Takes a cached safe location matching a profile without searching
+     * Served entries leave the cache; entries that no longer pass the safety checks are skipped
+     * 
+     * @param world The world to pick a location in
+     * @param profile The region and safety rules to apply
+     * @return A cached safe location, or null if none is available
+     */
+    private Location pickCachedLocation(World world, SearchProfile profile) {
+        Location cached;
+        while ((cached = locationCache.pick(world, profile)) != null) {
+            RejectReason reason = checkLocation(cached, profile.getMinY());
+            if (reason == null) {
+                return cached;
+            }
+            CandidateRejectedEvent.emit(world.getName(), cached.getBlockX(), cached.getBlockZ(), reason.name(),
+                true, 0L);
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the configured radius around the world spawn as a search profile
+     * 
+     * @param world The world the profile is for
+     * @return A profile with the default safety rules and the configured attempt limit
+     */
+    public SearchProfile getDefaultProfile(World world) {
+        Location spawnLocation = world.getSpawnLocation();
+        return new SearchProfile(
+            spawnLocation.getBlockX() + configManager.getMinX(),
+            spawnLocation.getBlockX() + configManager.getMaxX(),
+            spawnLocation.getBlockZ() + configManager.getMinZ(),
+            spawnLocation.getBlockZ() + configManager.getMaxZ(),
+            SearchProfile.DEFAULT_MIN_Y,
+            Math.max(1, configManager.getServiceDefaultMaxAttempts())
+        );
+    }
+    
+    /**
+     * Picks a random block column within the given bounds, sampling chunks that
+     * already exist on disk when the generated-chunks mode asks for it
+     * 
+     * @param world The world to sample in
+     * @param minX The minimum block X coordinate
+     * @param maxX The maximum block X coordinate
+     * @param minZ The minimum block Z coordinate
+     * @param maxZ The maximum block Z coordinate
+     * @param attempt The 1-based attempt number within the current search
+     * @param generatedOnly Whether only generated chunks may be sampled
+     * @return An {x, z} column, or null if only generated chunks may be sampled and none was found
+     */
+    private int[] randomColumn(World world, int minX, int maxX, int minZ, int maxZ, int attempt,
+                               boolean generatedOnly) {
+        if (generatedOnly) {
+            return regionIndex.randomGeneratedColumn(world, minX, maxX, minZ, maxZ, random);
+        }
+        
+        if (configManager.getGeneratedChunksMode().equals("prefer")
+                && attempt <= configManager.getGeneratedChunksPreferAttempts()) {
+            int[] column = regionIndex.randomGeneratedColumn(world, minX, maxX, minZ, maxZ, random);
+            if (column != null) {
+                return column;
             }
         }
+        return new int[] {minX + random.nextInt(maxX - minX + 1), minZ + random.nextInt(maxZ - minZ + 1)};
     }
     
     /**
@@ -64,19 +270,18 @@ public class TeleportManager {
      * @param world The world to search in
      * @param x The X coordinate
      * @param z The Z coordinate
+     * @param highestY The column's highest block, from {@link World#getHighestBlockYAt(int, int)}
+     * @param minY The lowest Y to search down to
      * @return A location at the highest safe block, or null if none found
      */
-    private Location findHighestSafeBlock(World world, int x, int z) {
+    private Location findHighestSafeBlock(World world, int x, int z, int highestY, int minY) {
         int maxHeight = world.getMaxHeight();
         int minHeight = world.getMinHeight();
         
-        // Use getHighestBlockYAt for better performance (works even if chunk not loaded)
-        int highestY = world.getHighestBlockYAt(x, z);
-        
-        // Search from highest Y down to Y60 minimum (to avoid caves)
-        // Start from the higher of: highestY or 60, but don't exceed maxHeight
-        int startY = Math.min(Math.max(60, highestY), maxHeight - 1);
-        for (int y = startY; y >= Math.max(60, minHeight); y--) {
+        // Search from highest Y down to the minimum Y (Y60 by default, to avoid caves)
+        // Start from the higher of: highestY or minY, but don't exceed maxHeight
+        int startY = Math.min(Math.max(minY, highestY), maxHeight - 1);
+        for (int y = startY; y >= Math.max(minY, minHeight); y--) {
             Block block = world.getBlockAt(x, y, z);
             Block blockAbove = world.getBlockAt(x, y + 1, z);
             
@@ -101,110 +306,144 @@ public class TeleportManager {
      * @return true if the location is safe, false otherwise
      */
     public boolean isLocationSafe(Location location) {
+        return checkLocation(location, SearchProfile.DEFAULT_MIN_Y) == null;
+    }
+    
+    /**
+     * Runs the safety checks on a location
+     * 
+     * @param location The location to validate
+     * @param minY The lowest Y the location may be at
+     * @return The reason the location is unsafe, or null if it is safe
+     */
+    private RejectReason checkLocation(Location location, int minY) {
         if (location == null || location.getWorld() == null) {
-            return false;
+            return RejectReason.VOID;
         }
         
         Block block = location.getBlock();
         Block below = location.clone().subtract(0, 1, 0).getBlock();
         Block above = location.clone().add(0, 1, 0).getBlock();
         
+        // Avoid water and lava
+        if (block.getType() == Material.WATER || block.getType() == Material.LAVA ||
+            below.getType() == Material.WATER || below.getType() == Material.LAVA ||
+            above.getType() == Material.WATER || above.getType() == Material.LAVA) {
+            return RejectReason.LIQUID;
+        }
+        
         // Check if player position is in air
         if (block.getType() != Material.AIR && block.getType() != Material.CAVE_AIR) {
-            return false;
+            return RejectReason.OBSTRUCTED;
         }
         
         // Check if block above is air (need at least 2 blocks of air)
         if (above.getType() != Material.AIR && above.getType() != Material.CAVE_AIR) {
-            return false;
+            return RejectReason.NO_HEADROOM;
         }
         
         // Check if block below is solid
         if (!isSolid(below.getType())) {
-            return false;
-        }
-        
-        // Avoid water and lava
-        if (block.getType() == Material.WATER || block.getType() == Material.LAVA ||
-            below.getType() == Material.WATER || below.getType() == Material.LAVA ||
-            above.getType() == Material.WATER || above.getType() == Material.LAVA) {
-            return false;
+            return RejectReason.NO_GROUND;
         }
         
         // Check if location is not in void
         if (location.getY() < location.getWorld().getMinHeight()) {
-            return false;
+            return RejectReason.VOID;
         }
         
-        // Ensure location is above Y60 to avoid caves
-        if (location.getY() < 60) {
-            return false;
+        // Ensure location is above the minimum Y (Y60 by default) to avoid caves
+        if (location.getY() < minY) {
+            return RejectReason.TOO_LOW;
         }
         
-        return true;
+        return null;
     }
     
     /**
      * Teleports a player to a location using async chunk loading
+     * Preloads the configured ring of chunks around the destination first, and
+     * releases their tickets once the player has arrived
      * 
      * @param player The player to teleport
      * @param location The target location
      * @param onComplete Callback to execute after teleportation (success or failure)
      */
     public void teleportPlayer(Player player, Location location, Runnable onComplete) {
-        if (player == null || !player.isOnline() || location == null || location.getWorld() == null) {
+        teleport(player, location, true).thenRun(() -> {
             if (onComplete != null) {
                 onComplete.run();
             }
-            return;
+        });
+    }
+    
+    /**
+     * Teleports a player to a location in any world, preloading the chunks around it first
+     * 
+     * @param player The player to teleport
+     * @param location The target location
+     * @return A future completed on the main thread with whether the teleport succeeded
+     */
+    public CompletableFuture<Boolean> teleportPlayer(Player player, Location location) {
+        return teleport(player, location, false);
+    }
+    
+    private CompletableFuture<Boolean> teleport(Player player, Location location, boolean sameWorldOnly) {
+        if (player == null || !player.isOnline() || location == null || location.getWorld() == null) {
+            return CompletableFuture.completedFuture(false);
         }
         
         World world = location.getWorld();
-        // Calculate chunk coordinates without loading the chunk
-        int chunkX = location.getBlockX() >> 4;
-        int chunkZ = location.getBlockZ() >> 4;
-        
-        // Load chunk asynchronously
-        CompletableFuture<org.bukkit.Chunk> chunkFuture = world.getChunkAtAsync(chunkX, chunkZ);
-        
-        chunkFuture.thenAccept(chunk -> {
-            // Chunk is now loaded, teleport on main thread
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                if (player.isOnline() && player.getWorld().equals(world)) {
-                    try {
-                        player.teleport(location);
-                        if (onComplete != null) {
-                            onComplete.run();
-                        }
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Failed to teleport player " + player.getName() + ": " + e.getMessage());
-                        if (onComplete != null) {
-                            onComplete.run();
-                        }
-                    }
-                } else {
-                    if (onComplete != null) {
-                        onComplete.run();
-                    }
-                }
-            });
-        }).exceptionally(throwable -> {
-            plugin.getLogger().warning("Failed to load chunk for teleportation: " + throwable.getMessage());
-            // Try to teleport anyway (chunk might already be loaded)
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                if (player.isOnline() && player.getWorld().equals(world)) {
-                    try {
-                        player.teleport(location);
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Failed to teleport player " + player.getName() + ": " + e.getMessage());
-                    }
-                }
-                if (onComplete != null) {
-                    onComplete.run();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        
+        // Preload chunks asynchronously; the future completes on the main thread
+        chunkPreloadManager.preload(location).thenAccept(preload -> {
+            boolean success = false;
+            if (player.isOnline() && (!sameWorldOnly || player.getWorld().equals(world))) {
+                try {
+                    success = applyTeleport(player, location);
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to teleport player " + player.getName() + ": " + e.getMessage());
                 }
-            });
-            return null;
+            }
+            
+            // The player now holds their own tickets on the surrounding chunks
+            preload.release();
+            result.complete(success);
         });
+        return result;
+    }
+    
+    /**
+     * Loads a chunk asynchronously, recording the request and its duration
+     * 
+     * @param world The chunk's world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return A future completed with the loaded chunk
+     */
+    public CompletableFuture<Chunk> loadChunkAsync(World world, int chunkX, int chunkZ) {
+        return chunkPreloadManager.loadChunkAsync(world, chunkX, chunkZ);
+    }
+    
+    /**
+     * Moves a player to their destination, recording how long the teleport call took
+     * 
+     * @param player The player to teleport
+     * @param location The target location
+     * @return true if the teleport succeeded
+     */
+    private boolean applyTeleport(Player player, Location location) {
+        TeleportAppliedEvent teleportEvent = new TeleportAppliedEvent();
+        teleportEvent.begin();
+        boolean success = false;
+        try {
+            success = player.teleport(location);
+        } finally {
+            teleportEvent.complete(player.getName(), location.getWorld().getName(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ(), success);
+        }
+        return success;
     }
     
     /**